@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * <p>
+ * Reads and writes the fields of a class by slot.
+ * </p>
+ * <p>
+ * Each operation is a single handle that switches over the slots of the
+ * {@link ClassModel}, so a slot read does not involve a lookup. The primitive
+ * variants only accept slots whose field type is exactly the primitive type,
+ * and never box the value.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class Accessor<T> {
+    private static final MethodHandle RAISE;
+    private static final MethodHandle RAISE_INDEX;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            RAISE = lookup.findStatic(Accessor.class, "raise", MethodType.methodType(Object.class, String.class));
+            RAISE_INDEX = lookup.findStatic(Accessor.class, "raiseIndex", MethodType.methodType(Object.class, int.class, String.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    private static Object raise(String message) {
+        throw new ReflectionException(message);
+    }
+
+    private static Object raiseIndex(int slot, String typeName) {
+        throw new IndexOutOfBoundsException("Slot %d is out of bounds for class %s".formatted(slot, typeName));
+    }
+
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle booleanGetter;
+    private final MethodHandle booleanSetter;
+    private final MethodHandle byteGetter;
+    private final MethodHandle byteSetter;
+    private final MethodHandle shortGetter;
+    private final MethodHandle shortSetter;
+    private final MethodHandle charGetter;
+    private final MethodHandle charSetter;
+    private final MethodHandle intGetter;
+    private final MethodHandle intSetter;
+    private final MethodHandle longGetter;
+    private final MethodHandle longSetter;
+    private final MethodHandle floatGetter;
+    private final MethodHandle floatSetter;
+    private final MethodHandle doubleGetter;
+    private final MethodHandle doubleSetter;
+
+    Accessor(ClassModel<T> model) {
+        this.getter = buildGetter(model, Object.class);
+        this.setter = buildSetter(model, Object.class);
+        this.booleanGetter = buildGetter(model, boolean.class);
+        this.booleanSetter = buildSetter(model, boolean.class);
+        this.byteGetter = buildGetter(model, byte.class);
+        this.byteSetter = buildSetter(model, byte.class);
+        this.shortGetter = buildGetter(model, short.class);
+        this.shortSetter = buildSetter(model, short.class);
+        this.charGetter = buildGetter(model, char.class);
+        this.charSetter = buildSetter(model, char.class);
+        this.intGetter = buildGetter(model, int.class);
+        this.intSetter = buildSetter(model, int.class);
+        this.longGetter = buildGetter(model, long.class);
+        this.longSetter = buildSetter(model, long.class);
+        this.floatGetter = buildGetter(model, float.class);
+        this.floatSetter = buildSetter(model, float.class);
+        this.doubleGetter = buildGetter(model, double.class);
+        this.doubleSetter = buildSetter(model, double.class);
+    }
+
+    private MethodHandle buildGetter(ClassModel<T> model, Class<?> valueType) {
+        MethodType type = MethodType.methodType(valueType, int.class, Object.class);
+        int size = model.size();
+        MethodHandle[] targets = new MethodHandle[size];
+        for (int slot = 0; slot < size; slot++) {
+            if (accepts(model, slot, valueType)) {
+                MethodHandle handle = model.getGetter(slot).asType(type.dropParameterTypes(0, 1));
+                targets[slot] = MethodHandles.dropArguments(handle, 0, int.class);
+            } else {
+                targets[slot] = buildRaise(type, getTypeMessage(model, slot, valueType));
+            }
+        }
+        return buildSwitch(model, type, targets);
+    }
+
+    private MethodHandle buildSetter(ClassModel<T> model, Class<?> valueType) {
+        MethodType type = MethodType.methodType(void.class, int.class, Object.class, valueType);
+        int size = model.size();
+        MethodHandle[] targets = new MethodHandle[size];
+        for (int slot = 0; slot < size; slot++) {
+            MethodHandle handle = model.getSetter(slot);
+            if (handle == null) {
+                targets[slot] = buildRaise(type, "Field %s of class %s cannot be written".formatted(model.getName(slot), model.getType().getName()));
+            } else if (accepts(model, slot, valueType)) {
+                handle = handle.asType(type.dropParameterTypes(0, 1));
+                targets[slot] = MethodHandles.dropArguments(handle, 0, int.class);
+            } else {
+                targets[slot] = buildRaise(type, getTypeMessage(model, slot, valueType));
+            }
+        }
+        return buildSwitch(model, type, targets);
+    }
+
+    private boolean accepts(ClassModel<T> model, int slot, Class<?> valueType) {
+        return valueType.equals(Object.class) || valueType.equals(model.getFieldType(slot));
+    }
+
+    private String getTypeMessage(ClassModel<T> model, int slot, Class<?> valueType) {
+        return "Field %s of class %s must be %s".formatted(model.getName(slot), model.getType().getName(), valueType.getName());
+    }
+
+    private MethodHandle buildRaise(MethodType type, String message) {
+        MethodHandle handle = MethodHandles.insertArguments(RAISE, 0, message);
+        handle = handle.asType(MethodType.methodType(type.returnType()));
+        return MethodHandles.dropArguments(handle, 0, type.parameterList());
+    }
+
+    private MethodHandle buildSwitch(ClassModel<T> model, MethodType type, MethodHandle[] targets) {
+        MethodHandle fallback = MethodHandles.insertArguments(RAISE_INDEX, 1, model.getType().getName());
+        fallback = fallback.asType(MethodType.methodType(type.returnType(), int.class));
+        fallback = MethodHandles.dropArguments(fallback, 1, type.parameterList().subList(1, type.parameterCount()));
+        if (targets.length == 0) {
+            return fallback;
+        }
+        return MethodHandles.tableSwitch(fallback, targets);
+    }
+
+    /**
+     * Reads the value of a field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value, boxed if primitive.
+     */
+    public Object get(Object instance, int slot) {
+        try {
+            return (Object) getter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of a field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value, boxed if primitive.
+     */
+    public void set(Object instance, int slot, Object value) {
+        try {
+            setter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of a {@code boolean} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value.
+     */
+    public boolean getBoolean(Object instance, int slot) {
+        try {
+            return (boolean) booleanGetter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of a {@code boolean} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value.
+     */
+    public void setBoolean(Object instance, int slot, boolean value) {
+        try {
+            booleanSetter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of a {@code byte} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value.
+     */
+    public byte getByte(Object instance, int slot) {
+        try {
+            return (byte) byteGetter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of a {@code byte} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value.
+     */
+    public void setByte(Object instance, int slot, byte value) {
+        try {
+            byteSetter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of a {@code short} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value.
+     */
+    public short getShort(Object instance, int slot) {
+        try {
+            return (short) shortGetter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of a {@code short} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value.
+     */
+    public void setShort(Object instance, int slot, short value) {
+        try {
+            shortSetter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of a {@code char} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value.
+     */
+    public char getChar(Object instance, int slot) {
+        try {
+            return (char) charGetter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of a {@code char} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value.
+     */
+    public void setChar(Object instance, int slot, char value) {
+        try {
+            charSetter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of an {@code int} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value.
+     */
+    public int getInt(Object instance, int slot) {
+        try {
+            return (int) intGetter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of an {@code int} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value.
+     */
+    public void setInt(Object instance, int slot, int value) {
+        try {
+            intSetter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of a {@code long} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value.
+     */
+    public long getLong(Object instance, int slot) {
+        try {
+            return (long) longGetter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of a {@code long} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value.
+     */
+    public void setLong(Object instance, int slot, long value) {
+        try {
+            longSetter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of a {@code float} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value.
+     */
+    public float getFloat(Object instance, int slot) {
+        try {
+            return (float) floatGetter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of a {@code float} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value.
+     */
+    public void setFloat(Object instance, int slot, float value) {
+        try {
+            floatSetter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads the value of a {@code double} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value.
+     */
+    public double getDouble(Object instance, int slot) {
+        try {
+            return (double) doubleGetter.invokeExact(slot, instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes the value of a {@code double} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value.
+     */
+    public void setDouble(Object instance, int slot, double value) {
+        try {
+            doubleSetter.invokeExact(slot, instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+}
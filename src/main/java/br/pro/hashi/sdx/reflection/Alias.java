@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares alternative names that an {@link EnumParser} accepts for an enum
+ * constant.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Alias {
+    /**
+     * The alternative names.
+     *
+     * @return The names.
+     */
+    String[] value();
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Represents the values of an annotation, extracted once into immutable
+ * objects. Arrays are represented as unmodifiable lists and nested
+ * annotations as other instances of this record.
+ *
+ * @param type   The annotation type.
+ * @param values The values, by element name.
+ */
+public record AnnotationData(Class<? extends Annotation> type, Map<String, Object> values) {
+    /**
+     * Creates the data.
+     *
+     * @param type   The annotation type.
+     * @param values The values, by element name.
+     */
+    public AnnotationData {
+        Objects.requireNonNull(type, "Type cannot be null");
+        values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    /**
+     * Extracts the values of an annotation. The elements of an annotation type
+     * that is not public, is nested in a class that is not public, or is in a
+     * package not exported to this module are made accessible first.
+     *
+     * @param reflector  The reflector.
+     * @param annotation The annotation.
+     * @return The data.
+     * @throws ReflectionException If the elements cannot be made accessible.
+     */
+    static AnnotationData of(Reflector reflector, Annotation annotation) {
+        Class<? extends Annotation> type = annotation.annotationType();
+        boolean accessible = reflector.isPublic(type) && type.getModule().isExported(type.getPackageName(), AnnotationData.class.getModule());
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())) {
+                if (!(accessible || method.trySetAccessible())) {
+                    throw new ReflectionException("Annotation %s must be public and exported or in a package open to this module".formatted(type.getName()));
+                }
+                Object value;
+                try {
+                    value = method.invoke(annotation);
+                } catch (IllegalAccessException exception) {
+                    throw new ReflectionException("Annotation %s must be public and exported or in a package open to this module".formatted(type.getName()), exception);
+                } catch (InvocationTargetException exception) {
+                    throw Reflector.rethrow(exception.getCause());
+                }
+                values.put(method.getName(), convert(reflector, value));
+            }
+        }
+        return new AnnotationData(type, values);
+    }
+
+    private static Object convert(Reflector reflector, Object value) {
+        if (value instanceof Annotation annotation) {
+            return of(reflector, annotation);
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            List<Object> list = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                list.add(convert(reflector, Array.get(value, i)));
+            }
+            return Collections.unmodifiableList(list);
+        }
+        return value;
+    }
+
+    /**
+     * Obtains the value of an element.
+     *
+     * @param name The element name.
+     * @param <V>  The value type.
+     * @return The value, boxed if primitive.
+     * @throws ReflectionException If the annotation does not have an element
+     *                             with this name.
+     */
+    public <V> V get(String name) {
+        Object value = values.get(name);
+        if (value == null) {
+            throw new ReflectionException("Annotation %s must have an element named %s".formatted(type.getName(), name));
+        }
+        @SuppressWarnings("unchecked")
+        V castValue = (V) value;
+        return castValue;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Represents the runtime annotations of a class, of its fields, and of the
+ * methods declared by it and its superclasses.
+ * </p>
+ * <p>
+ * The annotations are read once, and their values are extracted into
+ * {@link AnnotationData} records. Each annotation type has a bitset of the
+ * slots of the fields it annotates, so presence checks do not involve any
+ * annotation proxy.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class AnnotationIndex<T> {
+    private static final Entry EMPTY = new Entry(0);
+
+    private final Map<Class<?>, Entry> entries;
+
+    AnnotationIndex(ClassModel<T> model) {
+        Reflector reflector = model.getReflector();
+        int size = model.size();
+        Map<Class<?>, Entry> entries = new HashMap<>();
+        for (Annotation annotation : model.getType().getAnnotations()) {
+            entries.computeIfAbsent(annotation.annotationType(), (type) -> new Entry(size)).classData = AnnotationData.of(reflector, annotation);
+        }
+        for (int slot = 0; slot < size; slot++) {
+            for (Annotation annotation : model.getField(slot).getDeclaredAnnotations()) {
+                Entry entry = entries.computeIfAbsent(annotation.annotationType(), (type) -> new Entry(size));
+                entry.slots.set(slot);
+                entry.slotData[slot] = AnnotationData.of(reflector, annotation);
+            }
+        }
+        for (Class<?> type = model.getType(); type != null && !type.equals(Object.class); type = type.getSuperclass()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (!(method.isSynthetic() || method.isBridge())) {
+                    for (Annotation annotation : method.getDeclaredAnnotations()) {
+                        Entry entry = entries.computeIfAbsent(annotation.annotationType(), (key) -> new Entry(size));
+                        entry.methodData.put(method, AnnotationData.of(reflector, annotation));
+                    }
+                }
+            }
+        }
+        this.entries = entries;
+    }
+
+    /**
+     * Checks whether the class has an annotation, either declared or
+     * inherited.
+     *
+     * @param type The annotation type.
+     * @return {@code true} if the annotation is present.
+     */
+    public boolean isPresent(Class<? extends Annotation> type) {
+        return getEntry(type).classData != null;
+    }
+
+    /**
+     * Obtains an annotation of the class, either declared or inherited.
+     *
+     * @param type The annotation type.
+     * @return The data, or {@code null} if the annotation is not present.
+     */
+    public AnnotationData get(Class<? extends Annotation> type) {
+        return getEntry(type).classData;
+    }
+
+    /**
+     * Checks whether a field has an annotation.
+     *
+     * @param slot The slot.
+     * @param type The annotation type.
+     * @return {@code true} if the annotation is present.
+     */
+    public boolean isPresent(int slot, Class<? extends Annotation> type) {
+        return getEntry(type).slots.get(slot);
+    }
+
+    /**
+     * Obtains an annotation of a field.
+     *
+     * @param slot The slot.
+     * @param type The annotation type.
+     * @return The data, or {@code null} if the annotation is not present.
+     */
+    public AnnotationData get(int slot, Class<? extends Annotation> type) {
+        Entry entry = getEntry(type);
+        return entry == EMPTY ? null : entry.slotData[slot];
+    }
+
+    /**
+     * Obtains the fields that have an annotation.
+     *
+     * @param type The annotation type.
+     * @return A copy of the bitset of their slots.
+     */
+    public BitSet getSlots(Class<? extends Annotation> type) {
+        return (BitSet) getEntry(type).slots.clone();
+    }
+
+    /**
+     * Checks whether a method has an annotation.
+     *
+     * @param method The method, declared by the class or one of its
+     *               superclasses.
+     * @param type   The annotation type.
+     * @return {@code true} if the annotation is present.
+     */
+    public boolean isPresent(Method method, Class<? extends Annotation> type) {
+        return getEntry(type).methodData.containsKey(method);
+    }
+
+    /**
+     * Obtains an annotation of a method.
+     *
+     * @param method The method, declared by the class or one of its
+     *               superclasses.
+     * @param type   The annotation type.
+     * @return The data, or {@code null} if the annotation is not present.
+     */
+    public AnnotationData get(Method method, Class<? extends Annotation> type) {
+        return getEntry(type).methodData.get(method);
+    }
+
+    private Entry getEntry(Class<? extends Annotation> type) {
+        return entries.getOrDefault(type, EMPTY);
+    }
+
+    private static final class Entry {
+        private final BitSet slots;
+        private final AnnotationData[] slotData;
+        private final Map<Method, AnnotationData> methodData;
+        private AnnotationData classData;
+
+        private Entry(int size) {
+            this.slots = new BitSet(size);
+            this.slotData = new AnnotationData[size];
+            this.methodData = new HashMap<>();
+        }
+    }
+}
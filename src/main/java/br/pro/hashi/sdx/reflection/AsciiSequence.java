@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Views a slice of bytes as characters, one per byte, without copying them.
+ * This is only meaningful for ASCII content, such as the representation of
+ * numbers.
+ */
+final class AsciiSequence implements CharSequence {
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    AsciiSequence(byte[] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        this.bytes = bytes;
+        this.buffer = null;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    AsciiSequence(ByteBuffer buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.limit());
+        this.bytes = null;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        byte value = bytes == null ? buffer.get(offset + index) : bytes[offset + index];
+        return (char) (value & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        if (bytes == null) {
+            return new AsciiSequence(buffer, offset + start, end - start);
+        }
+        return new AsciiSequence(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        if (bytes == null) {
+            byte[] copy = new byte[length];
+            buffer.get(offset, copy);
+            return new String(copy, StandardCharsets.ISO_8859_1);
+        }
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Binds methods to functional interfaces, so they can be called as
+ * implementations of these interfaces.
+ * </p>
+ * <p>
+ * An implementation is spun by {@link LambdaMetafactory}, exactly as for a
+ * method reference, whenever the current lookup has full privilege access and
+ * can access the method and the interface. Otherwise, it falls back to
+ * {@link MethodHandleProxies}, which is slower but has fewer requirements.
+ * </p>
+ */
+public final class Binder {
+    private final Reflector reflector;
+    private final ConcurrentMap<Binding, Object> instances;
+    private final ConcurrentMap<Binding, Function<Object, Object>> factories;
+
+    Binder(Reflector reflector) {
+        this.reflector = reflector;
+        this.instances = new ConcurrentHashMap<>();
+        this.factories = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Binds a method to a functional interface. If the method is not static,
+     * the first parameter of the interface method is the instance.
+     *
+     * @param method        The method, which must be accessible.
+     * @param interfaceType The interface.
+     * @param <F>           The interface type.
+     * @return The cached implementation.
+     * @throws ReflectionException If the type is not a functional interface or
+     *                             its method is not compatible with the
+     *                             method.
+     */
+    public <F> F bind(Method method, Class<F> interfaceType) {
+        Objects.requireNonNull(method, "Method cannot be null");
+        Objects.requireNonNull(interfaceType, "Interface type cannot be null");
+        Object implementation = instances.computeIfAbsent(new Binding(method, interfaceType, false), (binding) -> compute(binding).apply(null));
+        return interfaceType.cast(implementation);
+    }
+
+    /**
+     * Binds an instance method to a functional interface, with the instance
+     * fixed.
+     *
+     * @param method        The method, which must be accessible and not
+     *                      static.
+     * @param interfaceType The interface.
+     * @param instance      The instance.
+     * @param <F>           The interface type.
+     * @return A new implementation.
+     * @throws ReflectionException If the method is static, the type is not a
+     *                             functional interface, or its method is not
+     *                             compatible with the method.
+     */
+    public <F> F bind(Method method, Class<F> interfaceType, Object instance) {
+        Objects.requireNonNull(method, "Method cannot be null");
+        Objects.requireNonNull(interfaceType, "Interface type cannot be null");
+        Objects.requireNonNull(instance, "Instance cannot be null");
+        if (Modifier.isStatic(method.getModifiers())) {
+            throw new ReflectionException("Method %s cannot be static".formatted(method.getName()));
+        }
+        Function<Object, Object> factory = factories.computeIfAbsent(new Binding(method, interfaceType, true), this::compute);
+        return interfaceType.cast(factory.apply(method.getDeclaringClass().cast(instance)));
+    }
+
+    private Function<Object, Object> compute(Binding binding) {
+        Method method = binding.method();
+        Class<?> interfaceType = binding.interfaceType();
+        boolean bound = binding.bound();
+        Method abstractMethod = getAbstractMethod(interfaceType);
+        MethodHandle handle = reflector.unreflect(method);
+
+        MethodType abstractType = MethodType.methodType(abstractMethod.getReturnType(), abstractMethod.getParameterTypes());
+        MethodType implementationType = bound ? handle.type().dropParameterTypes(0, 1) : handle.type();
+        MethodType factoryType = bound ? MethodType.methodType(interfaceType, method.getDeclaringClass()) : MethodType.methodType(interfaceType);
+
+        MethodHandle factory;
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    reflector.getLookup(),
+                    abstractMethod.getName(),
+                    factoryType,
+                    abstractType,
+                    handle,
+                    specialize(abstractType, implementationType));
+            factory = callSite.getTarget().asType(factoryType.generic());
+        } catch (LambdaConversionException | RuntimeException | LinkageError exception) {
+            factory = null;
+        }
+        if (factory != null) {
+            MethodHandle target = factory;
+            if (bound) {
+                return (instance) -> {
+                    try {
+                        return (Object) target.invokeExact(instance);
+                    } catch (Throwable throwable) {
+                        throw Reflector.rethrow(throwable);
+                    }
+                };
+            }
+            Object implementation;
+            try {
+                implementation = (Object) target.invokeExact();
+            } catch (Throwable throwable) {
+                throw Reflector.rethrow(throwable);
+            }
+            return (instance) -> implementation;
+        }
+
+        String message = "Method %s is not compatible with interface %s".formatted(method.getName(), interfaceType.getName());
+        if (!Modifier.isPublic(interfaceType.getModifiers()) || interfaceType.isSealed()) {
+            throw new ReflectionException(message);
+        }
+        try {
+            handle.asType(bound ? abstractType.insertParameterTypes(0, method.getDeclaringClass()) : abstractType);
+        } catch (WrongMethodTypeException exception) {
+            throw new ReflectionException(message);
+        }
+        if (bound) {
+            return (instance) -> MethodHandleProxies.asInterfaceInstance(interfaceType, handle.bindTo(instance));
+        }
+        Object implementation = MethodHandleProxies.asInterfaceInstance(interfaceType, handle);
+        return (instance) -> implementation;
+    }
+
+    Method getAbstractMethod(Class<?> interfaceType) {
+        String message = "Type %s must be a functional interface".formatted(interfaceType.getName());
+        if (!interfaceType.isInterface()) {
+            throw new ReflectionException(message);
+        }
+        Method abstractMethod = null;
+        for (Method method : interfaceType.getMethods()) {
+            if (Modifier.isAbstract(method.getModifiers()) && !isObjectMethod(method)) {
+                if (abstractMethod != null && !sameSignature(abstractMethod, method)) {
+                    throw new ReflectionException(message);
+                }
+                abstractMethod = method;
+            }
+        }
+        if (abstractMethod == null) {
+            throw new ReflectionException(message);
+        }
+        return abstractMethod;
+    }
+
+    boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException exception) {
+            return false;
+        }
+    }
+
+    private boolean sameSignature(Method a, Method b) {
+        return a.getName().equals(b.getName()) && Arrays.equals(a.getParameterTypes(), b.getParameterTypes());
+    }
+
+    private MethodType specialize(MethodType abstractType, MethodType implementationType) {
+        if (abstractType.parameterCount() != implementationType.parameterCount()) {
+            return abstractType;
+        }
+        MethodType type = abstractType;
+        for (int i = 0; i < abstractType.parameterCount(); i++) {
+            type = type.changeParameterType(i, specialize(abstractType.parameterType(i), implementationType.parameterType(i)));
+        }
+        if (!abstractType.returnType().equals(void.class)) {
+            type = type.changeReturnType(specialize(abstractType.returnType(), implementationType.returnType()));
+        }
+        return type;
+    }
+
+    private Class<?> specialize(Class<?> abstractType, Class<?> implementationType) {
+        if (abstractType.isPrimitive() || implementationType.equals(void.class)) {
+            return abstractType;
+        }
+        Class<?> wrappedType = MethodType.methodType(implementationType).wrap().returnType();
+        return abstractType.isAssignableFrom(wrappedType) ? wrappedType : abstractType;
+    }
+
+    private record Binding(Method method, Class<?> interfaceType, boolean bound) {
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * <p>
+ * Reads and writes all the fields of a class at once, to and from arrays
+ * indexed by slot.
+ * </p>
+ * <p>
+ * Each operation is a single handle that combines the getters or setters of
+ * the {@link ClassModel}, so copying an object to a row costs one handle call
+ * instead of one per field.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class BulkAccessor<T> {
+    private final String typeName;
+    private final int size;
+    private final MethodHandle filler;
+    private final MethodHandle reader;
+    private final MethodHandle writer;
+
+    BulkAccessor(ClassModel<T> model) {
+        int size = model.size();
+
+        MethodHandle filler = MethodHandles.empty(MethodType.methodType(void.class, Object[].class, Object.class));
+        for (int slot = size - 1; slot >= 0; slot--) {
+            MethodHandle getter = model.getGetter(slot).asType(MethodType.methodType(Object.class, Object.class));
+            MethodHandle element = MethodHandles.insertArguments(MethodHandles.arrayElementSetter(Object[].class), 1, slot);
+            filler = MethodHandles.foldArguments(filler, MethodHandles.filterArguments(element, 1, getter));
+        }
+
+        MethodHandle reader = MethodHandles.dropArguments(MethodHandles.identity(Object[].class), 1, Object.class);
+        reader = MethodHandles.foldArguments(reader, filler);
+        reader = MethodHandles.foldArguments(reader, MethodHandles.insertArguments(MethodHandles.arrayConstructor(Object[].class), 0, size));
+
+        MethodHandle writer = MethodHandles.empty(MethodType.methodType(void.class, Object.class, Object[].class));
+        for (int slot = size - 1; slot >= 0; slot--) {
+            MethodHandle setter = model.getSetter(slot);
+            if (setter == null) {
+                writer = null;
+                break;
+            }
+            setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            MethodHandle element = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(Object[].class), 1, slot);
+            writer = MethodHandles.foldArguments(writer, MethodHandles.filterArguments(setter, 1, element));
+        }
+
+        this.typeName = model.getType().getName();
+        this.size = size;
+        this.filler = filler;
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    /**
+     * Reads all the fields of an object.
+     *
+     * @param instance The object.
+     * @return A new array with the values, boxed if primitive.
+     */
+    public Object[] readAll(T instance) {
+        try {
+            return (Object[]) reader.invokeExact((Object) instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Reads all the fields of an object into an existing array.
+     *
+     * @param instance The object.
+     * @param row      An array with one position per slot.
+     * @throws IllegalArgumentException If the array does not have one position
+     *                                  per slot.
+     */
+    public void readAll(T instance, Object[] row) {
+        checkLength(row);
+        try {
+            filler.invokeExact(row, (Object) instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes all the fields of an object.
+     *
+     * @param instance The object.
+     * @param row      An array with one value per slot, boxed if primitive.
+     * @throws IllegalArgumentException If the array does not have one position
+     *                                  per slot.
+     * @throws ReflectionException      If a field cannot be written.
+     */
+    public void writeAll(T instance, Object[] row) {
+        if (writer == null) {
+            throw new ReflectionException("Class %s has fields that cannot be written".formatted(typeName));
+        }
+        checkLength(row);
+        try {
+            writer.invokeExact((Object) instance, row);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    private void checkLength(Object[] row) {
+        if (row.length != size) {
+            throw new IllegalArgumentException("Row must have %d values".formatted(size));
+        }
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Parses delimited values, such as comma-separated lists, into primitive
+ * arrays or lists.
+ * </p>
+ * <p>
+ * Values are parsed in place, from the input or from a reusable window over
+ * it, so no substring is created for integers. Decimal numbers with up to 15
+ * significant digits and small exponents are also parsed in place, and other
+ * decimal representations fall back to {@link Double#parseDouble(String)}.
+ * Whitespace around each value is ignored, and so is a last value that is
+ * blank, which allows a trailing delimiter or an empty input.
+ * </p>
+ * <p>
+ * Byte channels are read as ASCII for primitive arrays and as UTF-8 for
+ * lists. The delimiter must be an ASCII character.
+ * </p>
+ */
+public final class BulkParser {
+    private static final int WINDOW_SIZE = 8192;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+            1e21, 1e22};
+
+    private final ParserFactory parserFactory;
+
+    BulkParser(ParserFactory parserFactory) {
+        this.parserFactory = parserFactory;
+    }
+
+    /**
+     * Parses delimited integers.
+     *
+     * @param input     The input.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws NumberFormatException If a value is not a valid integer.
+     */
+    public int[] parseInts(CharSequence input, char delimiter) {
+        IntSink sink = new IntSink();
+        scan(input, delimiter, sink, true);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited integers from a reader.
+     *
+     * @param reader    The reader, which is not closed.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws IOException           If the reader fails.
+     * @throws NumberFormatException If a value is not a valid integer.
+     */
+    public int[] parseInts(Reader reader, char delimiter) throws IOException {
+        IntSink sink = new IntSink();
+        scan(reader, delimiter, sink);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited integers from a byte channel.
+     *
+     * @param channel   The channel, which is not closed.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws IOException           If the channel fails.
+     * @throws NumberFormatException If a value is not a valid integer.
+     */
+    public int[] parseInts(ReadableByteChannel channel, char delimiter) throws IOException {
+        IntSink sink = new IntSink();
+        scan(channel, delimiter, sink);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited long integers.
+     *
+     * @param input     The input.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws NumberFormatException If a value is not a valid long integer.
+     */
+    public long[] parseLongs(CharSequence input, char delimiter) {
+        LongSink sink = new LongSink();
+        scan(input, delimiter, sink, true);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited long integers from a reader.
+     *
+     * @param reader    The reader, which is not closed.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws IOException           If the reader fails.
+     * @throws NumberFormatException If a value is not a valid long integer.
+     */
+    public long[] parseLongs(Reader reader, char delimiter) throws IOException {
+        LongSink sink = new LongSink();
+        scan(reader, delimiter, sink);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited long integers from a byte channel.
+     *
+     * @param channel   The channel, which is not closed.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws IOException           If the channel fails.
+     * @throws NumberFormatException If a value is not a valid long integer.
+     */
+    public long[] parseLongs(ReadableByteChannel channel, char delimiter) throws IOException {
+        LongSink sink = new LongSink();
+        scan(channel, delimiter, sink);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited decimal numbers.
+     *
+     * @param input     The input.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws NumberFormatException If a value is not a valid decimal number.
+     */
+    public double[] parseDoubles(CharSequence input, char delimiter) {
+        DoubleSink sink = new DoubleSink();
+        scan(input, delimiter, sink, true);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited decimal numbers from a reader.
+     *
+     * @param reader    The reader, which is not closed.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws IOException           If the reader fails.
+     * @throws NumberFormatException If a value is not a valid decimal number.
+     */
+    public double[] parseDoubles(Reader reader, char delimiter) throws IOException {
+        DoubleSink sink = new DoubleSink();
+        scan(reader, delimiter, sink);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited decimal numbers from a byte channel.
+     *
+     * @param channel   The channel, which is not closed.
+     * @param delimiter The delimiter.
+     * @return The values.
+     * @throws IOException           If the channel fails.
+     * @throws NumberFormatException If a value is not a valid decimal number.
+     */
+    public double[] parseDoubles(ReadableByteChannel channel, char delimiter) throws IOException {
+        DoubleSink sink = new DoubleSink();
+        scan(channel, delimiter, sink);
+        return sink.toArray();
+    }
+
+    /**
+     * Parses delimited values of any type supported by the
+     * {@link ParserFactory}.
+     *
+     * @param type      The type.
+     * @param input     The input.
+     * @param delimiter The delimiter.
+     * @param <K>       The type.
+     * @return The values, boxed if primitive.
+     * @throws ReflectionException If the type cannot be parsed.
+     */
+    public <K> List<K> parseList(Class<K> type, CharSequence input, char delimiter) {
+        ListSink<K> sink = new ListSink<>(parserFactory.getSequenceParser(type));
+        scan(input, delimiter, sink, true);
+        return sink.list;
+    }
+
+    /**
+     * Parses delimited values of any type supported by the
+     * {@link ParserFactory} from a reader.
+     *
+     * @param type      The type.
+     * @param reader    The reader, which is not closed.
+     * @param delimiter The delimiter.
+     * @param <K>       The type.
+     * @return The values, boxed if primitive.
+     * @throws IOException         If the reader fails.
+     * @throws ReflectionException If the type cannot be parsed.
+     */
+    public <K> List<K> parseList(Class<K> type, Reader reader, char delimiter) throws IOException {
+        ListSink<K> sink = new ListSink<>(parserFactory.getSequenceParser(type));
+        scan(reader, delimiter, sink);
+        return sink.list;
+    }
+
+    /**
+     * Parses delimited values of any type supported by the
+     * {@link ParserFactory} from a byte channel.
+     *
+     * @param type      The type.
+     * @param channel   The channel, which is not closed.
+     * @param delimiter The delimiter.
+     * @param <K>       The type.
+     * @return The values, boxed if primitive.
+     * @throws IOException         If the channel fails.
+     * @throws ReflectionException If the type cannot be parsed.
+     */
+    public <K> List<K> parseList(Class<K> type, ReadableByteChannel channel, char delimiter) throws IOException {
+        Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8);
+        return parseList(type, reader, delimiter);
+    }
+
+    private int scan(CharSequence input, char delimiter, Sink sink, boolean last) {
+        int length = input.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (input.charAt(i) == delimiter) {
+                accept(input, start, i, sink, false);
+                start = i + 1;
+            }
+        }
+        if (last) {
+            accept(input, start, length, sink, true);
+        }
+        return start;
+    }
+
+    private void scan(Reader reader, char delimiter, Sink sink) throws IOException {
+        char[] window = new char[WINDOW_SIZE];
+        CharBuffer view = CharBuffer.wrap(window);
+        int filled = 0;
+        int read;
+        while ((read = reader.read(window, filled, window.length - filled)) != -1) {
+            filled += read;
+            int start = scan(view.limit(filled), delimiter, sink, false);
+            filled -= start;
+            System.arraycopy(window, start, window, 0, filled);
+            if (filled == window.length) {
+                window = Arrays.copyOf(window, window.length * 2);
+                view = CharBuffer.wrap(window);
+            }
+        }
+        accept(view.limit(filled), 0, filled, sink, true);
+    }
+
+    private void scan(ReadableByteChannel channel, char delimiter, Sink sink) throws IOException {
+        byte[] window = new byte[WINDOW_SIZE];
+        ByteBuffer buffer = ByteBuffer.wrap(window);
+        while (channel.read(buffer) != -1) {
+            int filled = buffer.position();
+            int start = scan(new AsciiSequence(window, 0, filled), delimiter, sink, false);
+            filled -= start;
+            System.arraycopy(window, start, window, 0, filled);
+            if (filled == window.length) {
+                window = Arrays.copyOf(window, window.length * 2);
+                buffer = ByteBuffer.wrap(window);
+            }
+            buffer.position(filled);
+        }
+        int filled = buffer.position();
+        accept(new AsciiSequence(window, 0, filled), 0, filled, sink, true);
+    }
+
+    private void accept(CharSequence input, int start, int end, Sink sink, boolean last) {
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        if (!(last && start == end)) {
+            sink.accept(input, start, end);
+        }
+    }
+
+    private static double parseDouble(CharSequence input, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+            negative = input.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigits = true;
+                if (mantissa == 0 && c == '0') {
+                    if (point) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (digits == 15) {
+                    return fallback(input, start, end);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (point) {
+                    exponent--;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else if ((c == 'e' || c == 'E') && hasDigits) {
+                i++;
+                boolean negativeExponent = false;
+                if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+                    negativeExponent = input.charAt(i) == '-';
+                    i++;
+                }
+                if (i == end || end - i > 3) {
+                    return fallback(input, start, end);
+                }
+                int value = 0;
+                for (; i < end; i++) {
+                    char d = input.charAt(i);
+                    if (d < '0' || d > '9') {
+                        return fallback(input, start, end);
+                    }
+                    value = value * 10 + (d - '0');
+                }
+                exponent += negativeExponent ? -value : value;
+            } else {
+                return fallback(input, start, end);
+            }
+        }
+        if (!hasDigits) {
+            return fallback(input, start, end);
+        }
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return fallback(input, start, end);
+        }
+        return negative ? -value : value;
+    }
+
+    private static double fallback(CharSequence input, int start, int end) {
+        return Double.parseDouble(input.subSequence(start, end).toString());
+    }
+
+    private interface Sink {
+        void accept(CharSequence input, int start, int end);
+    }
+
+    private static final class IntSink implements Sink {
+        private int[] values = new int[16];
+        private int size;
+
+        @Override
+        public void accept(CharSequence input, int start, int end) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = Integer.parseInt(input, start, end, 10);
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class LongSink implements Sink {
+        private long[] values = new long[16];
+        private int size;
+
+        @Override
+        public void accept(CharSequence input, int start, int end) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = Long.parseLong(input, start, end, 10);
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class DoubleSink implements Sink {
+        private double[] values = new double[16];
+        private int size;
+
+        @Override
+        public void accept(CharSequence input, int start, int end) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parseDouble(input, start, end);
+        }
+
+        private double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class ListSink<K> implements Sink {
+        private final Function<CharSequence, K> parser;
+        private final List<K> list;
+
+        private ListSink(Function<CharSequence, K> parser) {
+            this.parser = parser;
+            this.list = new ArrayList<>();
+        }
+
+        @Override
+        public void accept(CharSequence input, int start, int end) {
+            list.add(parser.apply(CharBuffer.wrap(input, start, end)));
+        }
+    }
+}
@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * <p>
+ * Represents the instance fields of a class, including the ones declared by
+ * its superclasses.
+ * </p>
+ * <p>
+ * Each field is identified by a slot. Superclass fields come first, in
+ * declaration order, and a field hidden by a subclass field with the same
+ * name is still a slot, but cannot be found by name.
+ * </p>
+ * <p>
+ * Every field must be accessible, so a class that inherits fields from a
+ * package that is not open to this module, such as a subclass of
+ * {@link java.util.ArrayList}, cannot be modeled.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class ClassModel<T> {
+    private final Reflector reflector;
+    private final Class<T> type;
+    private final Field[] fields;
+    private final String[] names;
+    private final Class<?>[] types;
+    private final Type[] genericTypes;
+    private final int[] modifiers;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    private final String[] keys;
+    private final int[] slots;
+    private volatile Accessor<T> accessor;
+    private volatile VarAccessor<T> varAccessor;
+    private volatile BulkAccessor<T> bulkAccessor;
+    private volatile ColumnExtractor<T> columnExtractor;
+    private volatile ValueMethods<T> valueMethods;
+    private volatile Differ<T> differ;
+    private volatile MethodIndex<T> methodIndex;
+    private volatile AnnotationIndex<T> annotationIndex;
+
+    ClassModel(Reflector reflector, Class<T> type) {
+        LinkedList<Class<?>> hierarchy = new LinkedList<>();
+        Class<?> superType = type;
+        while (superType != null && !superType.equals(Object.class)) {
+            hierarchy.addFirst(superType);
+            superType = superType.getSuperclass();
+        }
+
+        List<Field> fieldList = new ArrayList<>();
+        for (Class<?> declaringType : hierarchy) {
+            for (Field field : declaringType.getDeclaredFields()) {
+                if (!(Modifier.isStatic(field.getModifiers()) || field.isSynthetic())) {
+                    fieldList.add(field);
+                }
+            }
+        }
+
+        int size = fieldList.size();
+        Field[] fields = new Field[size];
+        String[] names = new String[size];
+        Class<?>[] types = new Class<?>[size];
+        Type[] genericTypes = new Type[size];
+        int[] modifiers = new int[size];
+        MethodHandle[] getters = new MethodHandle[size];
+        MethodHandle[] setters = new MethodHandle[size];
+
+        int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+        String[] keys = new String[capacity];
+        int[] slots = new int[capacity];
+
+        for (int slot = 0; slot < size; slot++) {
+            Field field = fieldList.get(slot);
+            Class<?> declaringType = field.getDeclaringClass();
+            String name = field.getName();
+            int fieldModifiers = field.getModifiers();
+            boolean isFinal = Modifier.isFinal(fieldModifiers);
+
+            if ((isFinal || !(Modifier.isPublic(fieldModifiers) && reflector.isPublic(declaringType))) && !field.trySetAccessible()) {
+                throw new ReflectionException("Field %s of class %s must be accessible, but package %s is not open to this module".formatted(name, declaringType.getName(), declaringType.getPackageName()));
+            }
+
+            fields[slot] = field;
+            names[slot] = name;
+            types[slot] = field.getType();
+            genericTypes[slot] = field.getGenericType();
+            modifiers[slot] = fieldModifiers;
+            getters[slot] = reflector.unreflectGetter(field);
+            if (!(isFinal && (declaringType.isRecord() || declaringType.isHidden()))) {
+                setters[slot] = reflector.unreflectSetter(field);
+            }
+
+            int index = find(keys, name);
+            keys[index] = name;
+            slots[index] = slot;
+        }
+
+        this.reflector = reflector;
+        this.type = type;
+        this.fields = fields;
+        this.names = names;
+        this.types = types;
+        this.genericTypes = genericTypes;
+        this.modifiers = modifiers;
+        this.getters = getters;
+        this.setters = setters;
+        this.keys = keys;
+        this.slots = slots;
+    }
+
+    private static int find(String[] keys, String name) {
+        int mask = keys.length - 1;
+        int index = name.hashCode() & mask;
+        String key;
+        while ((key = keys[index]) != null && !key.equals(name)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    Reflector getReflector() {
+        return reflector;
+    }
+
+    /**
+     * Obtains the represented class.
+     *
+     * @return The class.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Obtains the number of slots.
+     *
+     * @return The number of instance fields.
+     */
+    public int size() {
+        return fields.length;
+    }
+
+    /**
+     * Obtains the slot of a field.
+     *
+     * @param name The field name.
+     * @return The slot or {@code -1} if the class does not have such field.
+     */
+    public int indexOf(String name) {
+        int index = find(keys, name);
+        if (keys[index] == null) {
+            return -1;
+        }
+        return slots[index];
+    }
+
+    /**
+     * Obtains the slot of a field that must exist.
+     *
+     * @param name The field name.
+     * @return The slot.
+     * @throws ReflectionException If the class does not have such field.
+     */
+    public int getSlot(String name) {
+        int slot = indexOf(name);
+        if (slot == -1) {
+            throw new ReflectionException("Class %s must have a field named %s".formatted(type.getName(), name));
+        }
+        return slot;
+    }
+
+    /**
+     * Obtains the field in a slot.
+     *
+     * @param slot The slot.
+     * @return The field, already accessible.
+     */
+    public Field getField(int slot) {
+        return fields[slot];
+    }
+
+    /**
+     * Obtains the field name in a slot.
+     *
+     * @param slot The slot.
+     * @return The name.
+     */
+    public String getName(int slot) {
+        return names[slot];
+    }
+
+    /**
+     * Obtains the field type in a slot.
+     *
+     * @param slot The slot.
+     * @return The erased type.
+     */
+    public Class<?> getFieldType(int slot) {
+        return types[slot];
+    }
+
+    /**
+     * Obtains the generic field type in a slot.
+     *
+     * @param slot The slot.
+     * @return The generic type.
+     */
+    public Type getGenericType(int slot) {
+        return genericTypes[slot];
+    }
+
+    /**
+     * Obtains the field modifiers in a slot.
+     *
+     * @param slot The slot.
+     * @return The modifiers, as in {@link Modifier}.
+     */
+    public int getModifiers(int slot) {
+        return modifiers[slot];
+    }
+
+    /**
+     * Obtains the getter in a slot.
+     *
+     * @param slot The slot.
+     * @return The handle, with the exact field type.
+     */
+    public MethodHandle getGetter(int slot) {
+        return getters[slot];
+    }
+
+    /**
+     * Obtains the setter in a slot.
+     *
+     * @param slot The slot.
+     * @return The handle, with the exact field type, or {@code null} if the
+     * field cannot be written.
+     */
+    public MethodHandle getSetter(int slot) {
+        return setters[slot];
+    }
+
+    /**
+     * Obtains the slot accessor, built on first use.
+     *
+     * @return The accessor.
+     */
+    public Accessor<T> getAccessor() {
+        Accessor<T> accessor = this.accessor;
+        if (accessor == null) {
+            accessor = new Accessor<>(this);
+            this.accessor = accessor;
+        }
+        return accessor;
+    }
+
+    /**
+     * Obtains the variable handle accessor, built on first use.
+     *
+     * @return The accessor.
+     */
+    public VarAccessor<T> getVarAccessor() {
+        VarAccessor<T> varAccessor = this.varAccessor;
+        if (varAccessor == null) {
+            varAccessor = new VarAccessor<>(this);
+            this.varAccessor = varAccessor;
+        }
+        return varAccessor;
+    }
+
+    /**
+     * Obtains the bulk accessor, built on first use.
+     *
+     * @return The accessor.
+     */
+    public BulkAccessor<T> getBulkAccessor() {
+        BulkAccessor<T> bulkAccessor = this.bulkAccessor;
+        if (bulkAccessor == null) {
+            bulkAccessor = new BulkAccessor<>(this);
+            this.bulkAccessor = bulkAccessor;
+        }
+        return bulkAccessor;
+    }
+
+    /**
+     * Obtains the column extractor, built on first use.
+     *
+     * @return The extractor.
+     */
+    public ColumnExtractor<T> getColumnExtractor() {
+        ColumnExtractor<T> columnExtractor = this.columnExtractor;
+        if (columnExtractor == null) {
+            columnExtractor = new ColumnExtractor<>(this);
+            this.columnExtractor = columnExtractor;
+        }
+        return columnExtractor;
+    }
+
+    /**
+     * Obtains the value methods, built on first use.
+     *
+     * @return The methods.
+     */
+    public ValueMethods<T> getValueMethods() {
+        ValueMethods<T> valueMethods = this.valueMethods;
+        if (valueMethods == null) {
+            valueMethods = new ValueMethods<>(this);
+            this.valueMethods = valueMethods;
+        }
+        return valueMethods;
+    }
+
+    /**
+     * Obtains the differ, built on first use.
+     *
+     * @return The differ.
+     */
+    public Differ<T> getDiffer() {
+        Differ<T> differ = this.differ;
+        if (differ == null) {
+            differ = new Differ<>(this);
+            this.differ = differ;
+        }
+        return differ;
+    }
+
+    /**
+     * Obtains the method index, built on first use.
+     *
+     * @return The index.
+     */
+    public MethodIndex<T> getMethodIndex() {
+        MethodIndex<T> methodIndex = this.methodIndex;
+        if (methodIndex == null) {
+            methodIndex = new MethodIndex<>(reflector, type);
+            this.methodIndex = methodIndex;
+        }
+        return methodIndex;
+    }
+
+    /**
+     * Creates a lazy loader. Each loader has its own registrations, so
+     * independent users of this model cannot replace each other's loaders.
+     *
+     * @return The loader.
+     */
+    public LazyLoader<T> createLazyLoader() {
+        return new LazyLoader<>(this);
+    }
+
+    /**
+     * Obtains the annotation index, built on first use.
+     *
+     * @return The index.
+     */
+    public AnnotationIndex<T> getAnnotationIndex() {
+        AnnotationIndex<T> annotationIndex = this.annotationIndex;
+        if (annotationIndex == null) {
+            annotationIndex = new AnnotationIndex<>(this);
+            this.annotationIndex = annotationIndex;
+        }
+        return annotationIndex;
+    }
+
+    /**
+     * Reads the value of a field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param <F>      The field type.
+     * @return The value, boxed if primitive.
+     */
+    public <F> F getValue(T instance, int slot) {
+        return reflector.invokeGetter(getters[slot], instance);
+    }
+
+    /**
+     * Writes the value of a field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value, boxed if primitive.
+     * @throws ReflectionException If the field cannot be written.
+     */
+    public void setValue(T instance, int slot, Object value) {
+        MethodHandle setter = setters[slot];
+        if (setter == null) {
+            throw new ReflectionException("Field %s of class %s cannot be written".formatted(names[slot], type.getName()));
+        }
+        reflector.invokeSetter(setter, instance, value);
+    }
+}
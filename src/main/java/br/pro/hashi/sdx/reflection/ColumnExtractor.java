@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * Extracts the fields of a collection of objects into arrays, one array per
+ * field.
+ * </p>
+ * <p>
+ * The array of a primitive field is a primitive array, and each element is
+ * stored by a handle specialized for the field, so no value is boxed.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class ColumnExtractor<T> {
+    private static final int CHUNK_SIZE = 1 << 12;
+
+    private final Reflector reflector;
+    private final ClassModel<T> model;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] stores;
+
+    ColumnExtractor(ClassModel<T> model) {
+        int size = model.size();
+        MethodHandle[] getters = new MethodHandle[size];
+        MethodHandle[] stores = new MethodHandle[size];
+        for (int slot = 0; slot < size; slot++) {
+            Class<?> fieldType = model.getFieldType(slot);
+            MethodHandle getter = model.getGetter(slot).asType(MethodType.methodType(fieldType, Object.class));
+            MethodHandle store = MethodHandles.arrayElementSetter(fieldType.arrayType());
+            store = MethodHandles.filterArguments(store, 2, getter);
+            getters[slot] = getter;
+            stores[slot] = store.asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+        }
+        this.reflector = model.getReflector();
+        this.model = model;
+        this.getters = getters;
+        this.stores = stores;
+    }
+
+    /**
+     * Extracts a field of each object.
+     *
+     * @param instances The objects.
+     * @param name      The field name.
+     * @param <A>       The array type.
+     * @return A new array, primitive if the field is primitive.
+     */
+    public <A> A extract(Collection<? extends T> instances, String name) {
+        return extract(instances, name, false);
+    }
+
+    /**
+     * Extracts a field of each object, optionally splitting the work among
+     * the threads of the common pool.
+     *
+     * @param instances The objects.
+     * @param name      The field name.
+     * @param parallel  Whether large collections should be split.
+     * @param <A>       The array type.
+     * @return A new array, primitive if the field is primitive.
+     */
+    public <A> A extract(Collection<? extends T> instances, String name, boolean parallel) {
+        Object[] arrays = extractAll(instances, parallel, name);
+        return reflector.uncheckedCast(arrays[0]);
+    }
+
+    /**
+     * Extracts several fields of each object in a single pass.
+     *
+     * @param instances The objects.
+     * @param parallel  Whether large collections should be split.
+     * @param names     The field names.
+     * @return New arrays, in the same order as the names.
+     */
+    public Object[] extractAll(Collection<? extends T> instances, boolean parallel, String... names) {
+        int length = names.length;
+        int[] slots = new int[length];
+        Object[] arrays = new Object[length];
+        int size = instances.size();
+        for (int i = 0; i < length; i++) {
+            int slot = model.getSlot(names[i]);
+            slots[i] = slot;
+            arrays[i] = Array.newInstance(model.getFieldType(slot), size);
+        }
+        if (parallel && size > CHUNK_SIZE) {
+            List<? extends T> list = asRandomAccess(instances);
+            int chunks = Math.min((size + CHUNK_SIZE - 1) / CHUNK_SIZE, ForkJoinPool.getCommonPoolParallelism() * 4);
+            IntStream.range(0, chunks).parallel().forEach((chunk) -> {
+                int start = (int) ((long) size * chunk / chunks);
+                int end = (int) ((long) size * (chunk + 1) / chunks);
+                for (int index = start; index < end; index++) {
+                    store(slots, arrays, index, list.get(index));
+                }
+            });
+        } else {
+            int index = 0;
+            for (T instance : instances) {
+                store(slots, arrays, index, instance);
+                index++;
+            }
+        }
+        return arrays;
+    }
+
+    private List<? extends T> asRandomAccess(Collection<? extends T> instances) {
+        if (instances instanceof List<? extends T> list && instances instanceof RandomAccess) {
+            return list;
+        }
+        Object[] array = instances.toArray();
+        return reflector.uncheckedCast(Arrays.asList(array));
+    }
+
+    private void store(int[] slots, Object[] arrays, int index, Object instance) {
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                stores[slots[i]].invokeExact(arrays[i], index, instance);
+            }
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Writes a primitive field of each object into a buffer, starting at its
+     * current position and following its byte order.
+     *
+     * @param instances The objects.
+     * @param name      The field name.
+     * @param buffer    The buffer.
+     * @throws ReflectionException If the field is not primitive.
+     */
+    public void extract(Collection<? extends T> instances, String name, ByteBuffer buffer) {
+        int slot = model.getSlot(name);
+        Class<?> fieldType = model.getFieldType(slot);
+        MethodHandle getter = getters[slot];
+        try {
+            if (fieldType.equals(boolean.class)) {
+                for (T instance : instances) {
+                    buffer.put((boolean) getter.invokeExact((Object) instance) ? (byte) 1 : (byte) 0);
+                }
+            } else if (fieldType.equals(byte.class)) {
+                for (T instance : instances) {
+                    buffer.put((byte) getter.invokeExact((Object) instance));
+                }
+            } else if (fieldType.equals(short.class)) {
+                for (T instance : instances) {
+                    buffer.putShort((short) getter.invokeExact((Object) instance));
+                }
+            } else if (fieldType.equals(char.class)) {
+                for (T instance : instances) {
+                    buffer.putChar((char) getter.invokeExact((Object) instance));
+                }
+            } else if (fieldType.equals(int.class)) {
+                for (T instance : instances) {
+                    buffer.putInt((int) getter.invokeExact((Object) instance));
+                }
+            } else if (fieldType.equals(long.class)) {
+                for (T instance : instances) {
+                    buffer.putLong((long) getter.invokeExact((Object) instance));
+                }
+            } else if (fieldType.equals(float.class)) {
+                for (T instance : instances) {
+                    buffer.putFloat((float) getter.invokeExact((Object) instance));
+                }
+            } else if (fieldType.equals(double.class)) {
+                for (T instance : instances) {
+                    buffer.putDouble((double) getter.invokeExact((Object) instance));
+                }
+            } else {
+                throw new ReflectionException("Field %s of class %s must be primitive".formatted(name, model.getType().getName()));
+            }
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+}
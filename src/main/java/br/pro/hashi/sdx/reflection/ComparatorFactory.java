@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Provides comparators that order objects by field paths, compiled once per
+ * class and list of keys.
+ * </p>
+ * <p>
+ * Primitive fields are read by exact-typed getters and compared without
+ * boxing. Reference fields must be {@link Comparable}. A {@code null}
+ * intermediate object is ordered as a {@code null} value.
+ * </p>
+ */
+public final class ComparatorFactory {
+    private final Reflector reflector;
+    private final PathFactory pathFactory;
+    private final ConcurrentMap<Key, Comparator<?>> cache;
+
+    ComparatorFactory(Reflector reflector, PathFactory pathFactory) {
+        this.reflector = reflector;
+        this.pathFactory = pathFactory;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Obtains a comparator.
+     *
+     * @param type The class.
+     * @param keys The keys, from the most to the least significant.
+     * @param <T>  The type.
+     * @return The cached comparator.
+     * @throws ReflectionException If a path does not exist or does not end in
+     *                             a primitive or comparable field.
+     */
+    public <T> Comparator<T> get(Class<T> type, SortKey... keys) {
+        Objects.requireNonNull(type, "Type cannot be null");
+        Comparator<?> comparator = cache.computeIfAbsent(new Key(type, List.of(keys)), this::compute);
+        return reflector.uncheckedCast(comparator);
+    }
+
+    private Comparator<?> compute(Key key) {
+        List<SortKey> sortKeys = key.sortKeys();
+        KeyComparator[] comparators = new KeyComparator[sortKeys.size()];
+        for (int i = 0; i < comparators.length; i++) {
+            comparators[i] = compile(key.type(), sortKeys.get(i));
+        }
+        if (comparators.length == 1) {
+            return comparators[0];
+        }
+        return (a, b) -> {
+            for (KeyComparator comparator : comparators) {
+                int result = comparator.compare(a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    private KeyComparator compile(Class<?> type, SortKey sortKey) {
+        PathLeaf leaf = pathFactory.getLeaf(type, sortKey.path());
+        Class<?> fieldType = leaf.getFieldType();
+        if (leaf.getKind() == PathLeaf.Kind.OBJECT && !(Comparable.class.isAssignableFrom(fieldType) || fieldType.equals(Object.class))) {
+            throw new ReflectionException("Field %s of class %s must be primitive or comparable".formatted(leaf.getName(), leaf.getOwnerType().getName()));
+        }
+        return new KeyComparator(leaf, sortKey.descending(), sortKey.nullsFirst());
+    }
+
+    private record Key(Class<?> type, List<SortKey> sortKeys) {
+    }
+
+    private static final class KeyComparator implements Comparator<Object> {
+        private final PathLeaf leaf;
+        private final boolean descending;
+        private final int sign;
+        private final int nullSign;
+
+        private KeyComparator(PathLeaf leaf, boolean descending, boolean nullsFirst) {
+            this.leaf = leaf;
+            this.descending = descending;
+            this.sign = descending ? -1 : 1;
+            this.nullSign = nullsFirst ? -1 : 1;
+        }
+
+        @Override
+        public int compare(Object a, Object b) {
+            a = leaf.owner(a);
+            b = leaf.owner(b);
+            PathLeaf.Kind kind = leaf.getKind();
+            if (kind == PathLeaf.Kind.OBJECT) {
+                return compareObjects(a == null ? null : leaf.get(a), b == null ? null : leaf.get(b));
+            }
+            if (a == null || b == null) {
+                return compareNulls(a, b);
+            }
+            return switch (kind) {
+                case BOOLEAN -> sign * Boolean.compare(leaf.getBoolean(a), leaf.getBoolean(b));
+                case INT -> sign * Integer.compare(leaf.getInt(a), leaf.getInt(b));
+                case LONG -> sign * Long.compare(leaf.getLong(a), leaf.getLong(b));
+                case FLOAT -> sign * Float.compare(leaf.getFloat(a), leaf.getFloat(b));
+                default -> sign * Double.compare(leaf.getDouble(a), leaf.getDouble(b));
+            };
+        }
+
+        private int compareObjects(Object a, Object b) {
+            if (a == null || b == null) {
+                return compareNulls(a, b);
+            }
+            if (descending) {
+                Object swap = a;
+                a = b;
+                b = swap;
+            }
+            @SuppressWarnings("unchecked")
+            Comparable<Object> comparable = (Comparable<Object>) a;
+            return comparable.compareTo(b);
+        }
+
+        private int compareNulls(Object a, Object b) {
+            if (a == b) {
+                return 0;
+            }
+            return a == null ? nullSign : -nullSign;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the constant pool of a class written by hand, adding each
+ * constant only once and returning its index.
+ */
+final class ConstantPool {
+    private final ByteArrayOutputStream pool;
+    private final DataOutputStream poolOutput;
+    private final Map<String, Integer> indices;
+    private int count;
+
+    ConstantPool() {
+        this.pool = new ByteArrayOutputStream();
+        this.poolOutput = new DataOutputStream(pool);
+        this.indices = new HashMap<>();
+        this.count = 1;
+    }
+
+    /**
+     * Writes the header of the class file, including the constant pool. Must
+     * be called after all constants have been added.
+     *
+     * @param output  The output.
+     * @param version The major version.
+     * @throws IOException If the output fails.
+     */
+    void writeHeader(OutputStream output, int version) throws IOException {
+        DataOutputStream header = new DataOutputStream(output);
+        header.writeInt(0xCAFEBABE);
+        header.writeShort(0);
+        header.writeShort(version);
+        header.writeShort(count);
+        pool.writeTo(output);
+    }
+
+    /**
+     * Writes a method whose only attribute is its code, with no exception
+     * table.
+     *
+     * @param output     The output.
+     * @param access     The access flags.
+     * @param name       The name.
+     * @param descriptor The descriptor.
+     * @param maxStack   The maximum stack size.
+     * @param maxLocals  The number of local variables.
+     * @param code       The instructions.
+     * @throws IOException If the output fails.
+     */
+    void writeMethod(DataOutputStream output, int access, String name, String descriptor, int maxStack, int maxLocals, ByteArrayOutputStream code) throws IOException {
+        output.writeShort(access);
+        output.writeShort(utf8(name));
+        output.writeShort(utf8(descriptor));
+        output.writeShort(1);
+        output.writeShort(utf8("Code"));
+        output.writeInt(12 + code.size());
+        output.writeShort(maxStack);
+        output.writeShort(maxLocals);
+        output.writeInt(code.size());
+        code.writeTo(output);
+        output.writeShort(0);
+        output.writeShort(0);
+    }
+
+    int dynamic(int bootstrapIndex, String name, String descriptor) throws IOException {
+        int nameAndType = nameAndType(name, descriptor);
+        return constant("Dynamic:%d:%d".formatted(bootstrapIndex, nameAndType), 17, bootstrapIndex, nameAndType);
+    }
+
+    int fieldRef(String owner, String name, String descriptor) throws IOException {
+        int ownerIndex = classRef(owner);
+        int nameAndType = nameAndType(name, descriptor);
+        return constant("Fieldref:%d:%d".formatted(ownerIndex, nameAndType), 9, ownerIndex, nameAndType);
+    }
+
+    int methodRef(String owner, String name, String descriptor) throws IOException {
+        int ownerIndex = classRef(owner);
+        int nameAndType = nameAndType(name, descriptor);
+        return constant("Methodref:%d:%d".formatted(ownerIndex, nameAndType), 10, ownerIndex, nameAndType);
+    }
+
+    int methodHandle(int kind, String owner, String name, String descriptor) throws IOException {
+        int reference = methodRef(owner, name, descriptor);
+        String key = "MethodHandle:%d:%d".formatted(kind, reference);
+        Integer index = indices.get(key);
+        if (index == null) {
+            poolOutput.writeByte(15);
+            poolOutput.writeByte(kind);
+            poolOutput.writeShort(reference);
+            index = add(key);
+        }
+        return index;
+    }
+
+    int nameAndType(String name, String descriptor) throws IOException {
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        return constant("NameAndType:%d:%d".formatted(nameIndex, descriptorIndex), 12, nameIndex, descriptorIndex);
+    }
+
+    int classRef(String internalName) throws IOException {
+        int nameIndex = utf8(internalName);
+        String key = "Class:%d".formatted(nameIndex);
+        Integer index = indices.get(key);
+        if (index == null) {
+            poolOutput.writeByte(7);
+            poolOutput.writeShort(nameIndex);
+            index = add(key);
+        }
+        return index;
+    }
+
+    int integer(int value) throws IOException {
+        String key = "Integer:%d".formatted(value);
+        Integer index = indices.get(key);
+        if (index == null) {
+            poolOutput.writeByte(3);
+            poolOutput.writeInt(value);
+            index = add(key);
+        }
+        return index;
+    }
+
+    int utf8(String value) throws IOException {
+        String key = "Utf8:" + value;
+        Integer index = indices.get(key);
+        if (index == null) {
+            poolOutput.writeByte(1);
+            poolOutput.writeUTF(value);
+            index = add(key);
+        }
+        return index;
+    }
+
+    private int constant(String key, int tag, int first, int second) throws IOException {
+        Integer index = indices.get(key);
+        if (index == null) {
+            poolOutput.writeByte(tag);
+            poolOutput.writeShort(first);
+            poolOutput.writeShort(second);
+            index = add(key);
+        }
+        return index;
+    }
+
+    private int add(String key) {
+        int index = count;
+        indices.put(key, index);
+        count++;
+        return index;
+    }
+}
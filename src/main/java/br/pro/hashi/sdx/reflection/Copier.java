@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Copies objects, either shallowly or deeply.
+ * </p>
+ * <p>
+ * A deep copy preserves identity: an object reachable through several paths,
+ * including cycles, is copied only once. Primitive values, immutable objects
+ * and the fields declared as shallow are shared by the copy, arrays are copied
+ * directly, and the common collections of {@code java.util} are copied
+ * element by element. The unmodifiable collections, such as the ones created
+ * by {@link List#of()}, {@link Collections#emptyList()},
+ * {@link Collections#singletonList(Object)} or
+ * {@link Collections#unmodifiableList(List)}, are copied into unmodifiable
+ * views of new collections. Any other collection or map that inherits fields
+ * from a package not open to this module, such as a list from
+ * {@link Arrays#asList(Object[])} or a subclass of {@link ArrayList}, is
+ * copied through its interface into a new {@link ArrayList},
+ * {@link ArrayDeque}, {@link LinkedHashSet}, {@link TreeSet},
+ * {@link LinkedHashMap} or {@link TreeMap}. A {@link Date} is cloned and an
+ * {@link Optional} is rebuilt around a copy of its value.
+ * </p>
+ * <p>
+ * Other objects are allocated through
+ * {@link Reflector#getInstantiator(Class, String)}, so they must satisfy the
+ * same requirements, and their fields are copied by handles compiled once per
+ * class. They cannot inherit fields from a package that is not open to this
+ * module. Records are rebuilt through their canonical constructors.
+ * </p>
+ */
+public final class Copier {
+    private final Reflector reflector;
+    private final ModelFactory modelFactory;
+    private final Set<Class<?>> immutableTypes;
+    private final ConcurrentMap<Class<?>, Set<String>> shallowNames;
+    private final ConcurrentMap<Class<?>, Plan> cache;
+
+    Copier(Reflector reflector, ModelFactory modelFactory) {
+        Set<Class<?>> immutableTypes = ConcurrentHashMap.newKeySet();
+        immutableTypes.addAll(List.of(
+                Boolean.class,
+                Byte.class,
+                Short.class,
+                Character.class,
+                Integer.class,
+                Long.class,
+                Float.class,
+                Double.class,
+                String.class,
+                BigInteger.class,
+                BigDecimal.class,
+                Class.class,
+                UUID.class,
+                Instant.class,
+                LocalDate.class,
+                LocalTime.class,
+                LocalDateTime.class,
+                OffsetTime.class,
+                OffsetDateTime.class,
+                ZonedDateTime.class,
+                ZoneOffset.class,
+                Duration.class,
+                Period.class));
+        this.reflector = reflector;
+        this.modelFactory = modelFactory;
+        this.immutableTypes = immutableTypes;
+        this.shallowNames = new ConcurrentHashMap<>();
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Declares a class as immutable, so its objects are shared instead of
+     * copied.
+     *
+     * @param type The class.
+     */
+    public void setImmutable(Class<?> type) {
+        Objects.requireNonNull(type, "Type cannot be null");
+        immutableTypes.add(type);
+        cache.clear();
+    }
+
+    /**
+     * Declares fields of a class as shallow, so their values are shared
+     * instead of copied. The fields can be declared by the class or by its
+     * superclasses, and this also applies to subclasses.
+     *
+     * @param type  The class.
+     * @param names The field names.
+     */
+    public void setShallow(Class<?> type, String... names) {
+        Objects.requireNonNull(type, "Type cannot be null");
+        shallowNames.computeIfAbsent(type, (key) -> ConcurrentHashMap.newKeySet()).addAll(List.of(names));
+        cache.clear();
+    }
+
+    /**
+     * Copies an object and, recursively, the objects reachable from it.
+     *
+     * @param instance The object.
+     * @param <E>      The type.
+     * @return The copy.
+     * @throws ReflectionException If a reachable object cannot be copied.
+     */
+    public <E> E copy(E instance) {
+        Context context = new Context();
+        Object copy = context.copy(instance);
+        context.drain();
+        return reflector.uncheckedCast(copy);
+    }
+
+    /**
+     * Copies an object, sharing the values of its fields or elements.
+     *
+     * @param instance The object.
+     * @param <E>      The type.
+     * @return The copy.
+     * @throws ReflectionException If the object cannot be copied.
+     */
+    public <E> E shallowCopy(E instance) {
+        if (instance == null) {
+            return null;
+        }
+        Class<?> type = instance.getClass();
+        if (isImmutable(type)) {
+            return instance;
+        }
+        Object copy;
+        if (type.isArray()) {
+            copy = copyArray(instance, type);
+            if (copy == null) {
+                copy = ((Object[]) instance).clone();
+            }
+        } else if (instance instanceof Date date) {
+            copy = date.clone();
+        } else if (instance instanceof Optional<?>) {
+            copy = instance;
+        } else {
+            Object container = createContainer(instance, type);
+            if (container == null) {
+                Plan plan = cache.computeIfAbsent(type, this::compute);
+                if (plan.creator == null) {
+                    copy = plan.instantiator.newInstance();
+                    invoke(plan.shallowAll, instance, copy);
+                } else {
+                    Object[] args = new Object[plan.getters.length];
+                    for (int i = 0; i < args.length; i++) {
+                        args[i] = get(plan.getters[i], instance);
+                    }
+                    copy = create(plan.creator, args);
+                }
+            } else {
+                if (instance instanceof Map<?, ?> map) {
+                    reflector.<Map<Object, Object>>uncheckedCast(container).putAll(map);
+                } else {
+                    reflector.<Collection<Object>>uncheckedCast(container).addAll((Collection<?>) instance);
+                }
+                copy = seal(instance, container);
+            }
+        }
+        return reflector.uncheckedCast(copy);
+    }
+
+    private boolean isImmutable(Class<?> type) {
+        return immutableTypes.contains(type) || Enum.class.isAssignableFrom(type);
+    }
+
+    private Object copyArray(Object instance, Class<?> type) {
+        if (instance instanceof boolean[] array) {
+            return array.clone();
+        }
+        if (instance instanceof byte[] array) {
+            return array.clone();
+        }
+        if (instance instanceof short[] array) {
+            return array.clone();
+        }
+        if (instance instanceof char[] array) {
+            return array.clone();
+        }
+        if (instance instanceof int[] array) {
+            return array.clone();
+        }
+        if (instance instanceof long[] array) {
+            return array.clone();
+        }
+        if (instance instanceof float[] array) {
+            return array.clone();
+        }
+        if (instance instanceof double[] array) {
+            return array.clone();
+        }
+        Class<?> componentType = type.getComponentType();
+        if (isImmutable(componentType) && Modifier.isFinal(componentType.getModifiers())) {
+            return ((Object[]) instance).clone();
+        }
+        return null;
+    }
+
+    private Object createContainer(Object instance, Class<?> type) {
+        if (type.equals(ArrayList.class)) {
+            return new ArrayList<>(((ArrayList<?>) instance).size());
+        }
+        if (type.equals(LinkedList.class)) {
+            return new LinkedList<>();
+        }
+        if (type.equals(ArrayDeque.class)) {
+            return new ArrayDeque<>(((ArrayDeque<?>) instance).size());
+        }
+        if (type.equals(HashSet.class)) {
+            return new HashSet<>();
+        }
+        if (type.equals(LinkedHashSet.class)) {
+            return new LinkedHashSet<>();
+        }
+        if (type.equals(TreeSet.class)) {
+            return new TreeSet<>(((TreeSet<?>) instance).comparator());
+        }
+        if (type.equals(HashMap.class)) {
+            return new HashMap<>();
+        }
+        if (type.equals(LinkedHashMap.class)) {
+            return new LinkedHashMap<>();
+        }
+        if (type.equals(TreeMap.class)) {
+            return new TreeMap<>(((TreeMap<?, ?>) instance).comparator());
+        }
+        if (isUnmodifiable(type) || !Reflector.isOpen(type)) {
+            if (instance instanceof SortedMap<?, ?> map) {
+                return new TreeMap<>(map.comparator());
+            }
+            if (instance instanceof Map<?, ?>) {
+                return new LinkedHashMap<>();
+            }
+            if (instance instanceof SortedSet<?> set) {
+                return new TreeSet<>(set.comparator());
+            }
+            if (instance instanceof Set<?>) {
+                return new LinkedHashSet<>();
+            }
+            if (instance instanceof Deque<?> && !(instance instanceof List<?>)) {
+                return new ArrayDeque<>();
+            }
+            if (instance instanceof Collection<?>) {
+                return new ArrayList<>();
+            }
+        }
+        return null;
+    }
+
+    private boolean isUnmodifiable(Class<?> type) {
+        String typeName = type.getName();
+        return typeName.startsWith("java.util.ImmutableCollections$")
+                || typeName.startsWith("java.util.Collections$Unmodifiable")
+                || typeName.startsWith("java.util.Collections$Empty")
+                || typeName.startsWith("java.util.Collections$Singleton");
+    }
+
+    private Object seal(Object instance, Object container) {
+        if (!isUnmodifiable(instance.getClass())) {
+            return container;
+        }
+        if (container instanceof TreeMap<?, ?> map) {
+            return Collections.unmodifiableNavigableMap(map);
+        }
+        if (container instanceof Map<?, ?> map) {
+            return Collections.unmodifiableMap(map);
+        }
+        if (container instanceof TreeSet<?> set) {
+            return Collections.unmodifiableNavigableSet(set);
+        }
+        if (container instanceof Set<?> set) {
+            return Collections.unmodifiableSet(set);
+        }
+        if (instance instanceof List<?>) {
+            return Collections.unmodifiableList((List<?>) container);
+        }
+        return Collections.unmodifiableCollection((Collection<?>) container);
+    }
+
+    private Plan compute(Class<?> type) {
+        if (!Reflector.isOpen(type)) {
+            throw new ReflectionException("Class %s cannot be copied, because it inherits fields from a package not open to this module".formatted(type.getName()));
+        }
+        Set<Field> shallowFields = new HashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Set<String> names = shallowNames.get(current);
+            if (names != null) {
+                ClassModel<?> currentModel = modelFactory.get(current);
+                for (String name : names) {
+                    shallowFields.add(currentModel.getField(currentModel.getSlot(name)));
+                }
+            }
+        }
+        return new Plan(modelFactory.get(type), shallowFields);
+    }
+
+    private final class Plan {
+        private final ObjectInstantiator<?> instantiator;
+        private final MethodHandle creator;
+        private final MethodHandle shallowAll;
+        private final MethodHandle shallow;
+        private final MethodHandle[] getters;
+        private final MethodHandle[] setters;
+        private final boolean[] deep;
+
+        private Plan(ClassModel<?> model, Set<Field> shallowFields) {
+            Class<?> type = model.getType();
+            int size = model.size();
+            MethodType getterType = MethodType.methodType(Object.class, Object.class);
+            MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+
+            MethodHandle[] getters = new MethodHandle[size];
+            MethodHandle[] setters = new MethodHandle[size];
+            boolean[] deep = new boolean[size];
+            for (int slot = 0; slot < size; slot++) {
+                Class<?> fieldType = model.getFieldType(slot);
+                getters[slot] = model.getGetter(slot).asType(getterType);
+                MethodHandle setter = model.getSetter(slot);
+                if (setter != null) {
+                    setters[slot] = setter.asType(setterType);
+                }
+                deep[slot] = !(fieldType.isPrimitive() || isImmutable(fieldType) && Modifier.isFinal(fieldType.getModifiers()) || shallowFields.contains(model.getField(slot)));
+            }
+
+            if (type.isRecord()) {
+                Class<?>[] parameterTypes = new Class<?>[size];
+                for (int slot = 0; slot < size; slot++) {
+                    parameterTypes[slot] = model.getFieldType(slot);
+                }
+                Constructor<?> constructor;
+                try {
+                    constructor = type.getDeclaredConstructor(parameterTypes);
+                } catch (NoSuchMethodException exception) {
+                    throw new AssertionError(exception);
+                }
+                if (!Modifier.isPublic(constructor.getModifiers())) {
+                    constructor.setAccessible(true);
+                }
+                this.instantiator = null;
+                this.creator = reflector.unreflectConstructor(constructor).asSpreader(Object[].class, size).asType(MethodType.methodType(Object.class, Object[].class));
+                this.shallowAll = null;
+                this.shallow = null;
+            } else {
+                this.instantiator = reflector.getInstantiator(type, type.getName());
+                this.creator = null;
+                this.shallowAll = fold(getters, setters, null);
+                this.shallow = fold(getters, setters, deep);
+            }
+            this.getters = getters;
+            this.setters = setters;
+            this.deep = deep;
+        }
+
+        private MethodHandle fold(MethodHandle[] getters, MethodHandle[] setters, boolean[] deep) {
+            MethodHandle handle = MethodHandles.empty(MethodType.methodType(void.class, Object.class, Object.class));
+            for (int slot = getters.length - 1; slot >= 0; slot--) {
+                if (deep == null || !deep[slot]) {
+                    MethodHandle copier = MethodHandles.filterArguments(setters[slot], 1, getters[slot]);
+                    copier = MethodHandles.permuteArguments(copier, handle.type(), 1, 0);
+                    handle = MethodHandles.foldArguments(handle, copier);
+                }
+            }
+            return handle;
+        }
+    }
+
+    private final class Context {
+        private final IdentityHashMap<Object, Object> copies;
+        private final Deque<Object[]> pending;
+        private final Deque<Object[]> fills;
+
+        private Context() {
+            this.copies = new IdentityHashMap<>();
+            this.pending = new ArrayDeque<>();
+            this.fills = new ArrayDeque<>();
+        }
+
+        private Object copy(Object instance) {
+            if (instance == null) {
+                return null;
+            }
+            Class<?> type = instance.getClass();
+            if (isImmutable(type)) {
+                return instance;
+            }
+            Object copy = copies.get(instance);
+            if (copy != null) {
+                return copy;
+            }
+            if (type.isArray()) {
+                copy = copyArray(instance, type);
+                if (copy == null) {
+                    copy = Array.newInstance(type.getComponentType(), Array.getLength(instance));
+                    pending.push(new Object[]{instance, copy, null});
+                }
+                copies.put(instance, copy);
+                return copy;
+            }
+            if (instance instanceof Date date) {
+                copy = date.clone();
+                copies.put(instance, copy);
+                return copy;
+            }
+            if (instance instanceof Optional<?> optional) {
+                copy = optional.map(this::copy);
+                copies.put(instance, copy);
+                return copy;
+            }
+            Object container = createContainer(instance, type);
+            if (container != null) {
+                copy = seal(instance, container);
+                copies.put(instance, copy);
+                pending.push(new Object[]{instance, container, null});
+                return copy;
+            }
+            Plan plan = cache.computeIfAbsent(type, Copier.this::compute);
+            if (plan.creator == null) {
+                copy = plan.instantiator.newInstance();
+                invoke(plan.shallow, instance, copy);
+                copies.put(instance, copy);
+                pending.push(new Object[]{instance, copy, plan});
+            } else {
+                Object[] args = new Object[plan.getters.length];
+                for (int i = 0; i < args.length; i++) {
+                    Object value = get(plan.getters[i], instance);
+                    args[i] = plan.deep[i] ? copy(value) : value;
+                }
+                copy = create(plan.creator, args);
+                copies.put(instance, copy);
+            }
+            return copy;
+        }
+
+        private void drain() {
+            while (!pending.isEmpty()) {
+                Object[] task = pending.pop();
+                Object instance = task[0];
+                Object copy = task[1];
+                if (task[2] instanceof Plan plan) {
+                    for (int slot = 0; slot < plan.deep.length; slot++) {
+                        if (plan.deep[slot]) {
+                            invoke(plan.setters[slot], copy, copy(get(plan.getters[slot], instance)));
+                        }
+                    }
+                } else if (instance instanceof Object[] array) {
+                    Object[] arrayCopy = (Object[]) copy;
+                    for (int i = 0; i < array.length; i++) {
+                        arrayCopy[i] = copy(array[i]);
+                    }
+                } else if (instance instanceof Map<?, ?> map) {
+                    Object[] entries = new Object[map.size() * 2];
+                    int i = 0;
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        entries[i++] = copy(entry.getKey());
+                        entries[i++] = copy(entry.getValue());
+                    }
+                    fills.push(new Object[]{copy, entries});
+                } else {
+                    Collection<?> collection = (Collection<?>) instance;
+                    Object[] elements = new Object[collection.size()];
+                    int i = 0;
+                    for (Object element : collection) {
+                        elements[i++] = copy(element);
+                    }
+                    fills.push(new Object[]{copy, elements});
+                }
+            }
+            while (!fills.isEmpty()) {
+                Object[] fill = fills.pop();
+                Object[] values = (Object[]) fill[1];
+                if (fill[0] instanceof Map<?, ?> map) {
+                    Map<Object, Object> mapCopy = reflector.uncheckedCast(map);
+                    for (int i = 0; i < values.length; i += 2) {
+                        mapCopy.put(values[i], values[i + 1]);
+                    }
+                } else {
+                    Collection<Object> collectionCopy = reflector.uncheckedCast(fill[0]);
+                    Collections.addAll(collectionCopy, values);
+                }
+            }
+        }
+    }
+
+    private Object get(MethodHandle getter, Object instance) {
+        try {
+            return (Object) getter.invokeExact(instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    private void invoke(MethodHandle handle, Object instance, Object value) {
+        if (handle == null) {
+            throw new ReflectionException("Class %s has fields that cannot be written".formatted(instance.getClass().getName()));
+        }
+        try {
+            handle.invokeExact(instance, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    private Object create(MethodHandle creator, Object[] args) {
+        try {
+            return (Object) creator.invokeExact(args);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Represents a condition over the field paths of an object.
+ * </p>
+ * <p>
+ * Constants are given as strings and parsed once, by the
+ * {@link ParserFactory}, into the type of the last field of the path.
+ * Criteria are values, so they can be used as cache keys.
+ * </p>
+ */
+public sealed interface Criterion {
+    /**
+     * Creates a criterion that checks whether a value is equal to a constant.
+     *
+     * @param path  The field names, separated by dots.
+     * @param value The constant.
+     * @return The criterion.
+     */
+    static Criterion eq(String path, String value) {
+        return new Comparison(path, Operator.EQ, value);
+    }
+
+    /**
+     * Creates a criterion that checks whether a value is not equal to a
+     * constant.
+     *
+     * @param path  The field names, separated by dots.
+     * @param value The constant.
+     * @return The criterion.
+     */
+    static Criterion ne(String path, String value) {
+        return new Comparison(path, Operator.NE, value);
+    }
+
+    /**
+     * Creates a criterion that checks whether a value is less than a
+     * constant.
+     *
+     * @param path  The field names, separated by dots.
+     * @param value The constant.
+     * @return The criterion.
+     */
+    static Criterion lt(String path, String value) {
+        return new Comparison(path, Operator.LT, value);
+    }
+
+    /**
+     * Creates a criterion that checks whether a value is less than or equal to
+     * a constant.
+     *
+     * @param path  The field names, separated by dots.
+     * @param value The constant.
+     * @return The criterion.
+     */
+    static Criterion le(String path, String value) {
+        return new Comparison(path, Operator.LE, value);
+    }
+
+    /**
+     * Creates a criterion that checks whether a value is greater than a
+     * constant.
+     *
+     * @param path  The field names, separated by dots.
+     * @param value The constant.
+     * @return The criterion.
+     */
+    static Criterion gt(String path, String value) {
+        return new Comparison(path, Operator.GT, value);
+    }
+
+    /**
+     * Creates a criterion that checks whether a value is greater than or equal
+     * to a constant.
+     *
+     * @param path  The field names, separated by dots.
+     * @param value The constant.
+     * @return The criterion.
+     */
+    static Criterion ge(String path, String value) {
+        return new Comparison(path, Operator.GE, value);
+    }
+
+    /**
+     * Creates a criterion that checks whether a value is equal to one of
+     * several constants.
+     *
+     * @param path   The field names, separated by dots.
+     * @param values The constants.
+     * @return The criterion.
+     */
+    static Criterion in(String path, String... values) {
+        return new In(path, List.of(values));
+    }
+
+    /**
+     * Creates a criterion that checks whether all criteria hold.
+     *
+     * @param criteria The criteria.
+     * @return The criterion.
+     */
+    static Criterion and(Criterion... criteria) {
+        return new And(List.of(criteria));
+    }
+
+    /**
+     * Creates a criterion that checks whether at least one criterion holds.
+     *
+     * @param criteria The criteria.
+     * @return The criterion.
+     */
+    static Criterion or(Criterion... criteria) {
+        return new Or(List.of(criteria));
+    }
+
+    /**
+     * Creates a criterion that checks whether a criterion does not hold.
+     *
+     * @param criterion The criterion.
+     * @return The criterion.
+     */
+    static Criterion not(Criterion criterion) {
+        return new Not(criterion);
+    }
+
+    /**
+     * Represents the operator of a comparison.
+     */
+    enum Operator {
+        /**
+         * Equal to.
+         */
+        EQ,
+
+        /**
+         * Not equal to.
+         */
+        NE,
+
+        /**
+         * Less than.
+         */
+        LT,
+
+        /**
+         * Less than or equal to.
+         */
+        LE,
+
+        /**
+         * Greater than.
+         */
+        GT,
+
+        /**
+         * Greater than or equal to.
+         */
+        GE
+    }
+
+    /**
+     * Compares the value at the end of a path to a constant.
+     *
+     * @param path     The field names, separated by dots.
+     * @param operator The operator.
+     * @param value    The constant.
+     */
+    record Comparison(String path, Operator operator, String value) implements Criterion {
+        /**
+         * Creates a comparison.
+         *
+         * @param path     The field names, separated by dots.
+         * @param operator The operator.
+         * @param value    The constant.
+         */
+        public Comparison {
+            Objects.requireNonNull(path, "Path cannot be null");
+            Objects.requireNonNull(operator, "Operator cannot be null");
+            Objects.requireNonNull(value, "Value cannot be null");
+        }
+    }
+
+    /**
+     * Checks whether the value at the end of a path is equal to one of several
+     * constants.
+     *
+     * @param path   The field names, separated by dots.
+     * @param values The constants.
+     */
+    record In(String path, List<String> values) implements Criterion {
+        /**
+         * Creates a membership test.
+         *
+         * @param path   The field names, separated by dots.
+         * @param values The constants.
+         */
+        public In {
+            Objects.requireNonNull(path, "Path cannot be null");
+            values = List.copyOf(values);
+        }
+    }
+
+    /**
+     * Checks whether all criteria hold.
+     *
+     * @param criteria The criteria.
+     */
+    record And(List<Criterion> criteria) implements Criterion {
+        /**
+         * Creates a conjunction.
+         *
+         * @param criteria The criteria.
+         */
+        public And {
+            criteria = List.copyOf(criteria);
+        }
+    }
+
+    /**
+     * Checks whether at least one criterion holds.
+     *
+     * @param criteria The criteria.
+     */
+    record Or(List<Criterion> criteria) implements Criterion {
+        /**
+         * Creates a disjunction.
+         *
+         * @param criteria The criteria.
+         */
+        public Or {
+            criteria = List.copyOf(criteria);
+        }
+    }
+
+    /**
+     * Checks whether a criterion does not hold.
+     *
+     * @param criterion The criterion.
+     */
+    record Not(Criterion criterion) implements Criterion {
+        /**
+         * Creates a negation.
+         *
+         * @param criterion The criterion.
+         */
+        public Not {
+            Objects.requireNonNull(criterion, "Criterion cannot be null");
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Finds which fields differ between two objects of a class.
+ * </p>
+ * <p>
+ * The comparisons of up to 64 slots are folded into a single handle that
+ * returns a word with one bit per changed slot. Primitive fields are compared
+ * without boxing, floating-point fields are compared by their bits, as in
+ * {@link Double#equals(Object)}, and reference fields are compared with
+ * {@link Objects#equals(Object, Object)}.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class Differ<T> {
+    private static final MethodHandle MARK;
+    private static final MethodHandle OBJECTS_EQUALS;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            MARK = lookup.findStatic(Differ.class, "mark", MethodType.methodType(long.class, boolean.class, long.class, long.class));
+            OBJECTS_EQUALS = lookup.findStatic(Objects.class, "equals", MethodType.methodType(boolean.class, Object.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    private static long mark(boolean same, long bits, long bit) {
+        return same ? bits : bits | bit;
+    }
+
+    private static boolean same(boolean a, boolean b) {
+        return a == b;
+    }
+
+    private static boolean same(byte a, byte b) {
+        return a == b;
+    }
+
+    private static boolean same(short a, short b) {
+        return a == b;
+    }
+
+    private static boolean same(char a, char b) {
+        return a == b;
+    }
+
+    private static boolean same(int a, int b) {
+        return a == b;
+    }
+
+    private static boolean same(long a, long b) {
+        return a == b;
+    }
+
+    private static boolean same(float a, float b) {
+        return Float.floatToIntBits(a) == Float.floatToIntBits(b);
+    }
+
+    private static boolean same(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    private final String typeName;
+    private final boolean record;
+    private final MethodHandle[] words;
+    private final ObjectInstantiator<T> instantiator;
+    private final MethodHandle copier;
+
+    Differ(ClassModel<T> model) {
+        Class<T> type = model.getType();
+        int size = model.size();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType wordType = MethodType.methodType(long.class, Object.class, Object.class);
+        MethodType copierType = MethodType.methodType(void.class, Object.class, Object.class);
+
+        MethodHandle[] words = new MethodHandle[(size + 63) / 64];
+        for (int word = 0; word < words.length; word++) {
+            words[word] = MethodHandles.dropArguments(MethodHandles.constant(long.class, 0L), 0, Object.class, Object.class);
+        }
+        MethodHandle copier = MethodHandles.empty(copierType);
+        boolean writable = !type.isRecord();
+
+        for (int slot = 0; slot < size; slot++) {
+            Class<?> fieldType = model.getFieldType(slot);
+            MethodHandle getter = model.getGetter(slot).asType(MethodType.methodType(fieldType, Object.class));
+            MethodHandle same;
+            if (fieldType.isPrimitive()) {
+                try {
+                    same = lookup.findStatic(Differ.class, "same", MethodType.methodType(boolean.class, fieldType, fieldType));
+                } catch (NoSuchMethodException | IllegalAccessException exception) {
+                    throw new AssertionError(exception);
+                }
+            } else {
+                same = OBJECTS_EQUALS.asType(MethodType.methodType(boolean.class, fieldType, fieldType));
+            }
+            same = MethodHandles.filterArguments(same, 0, getter, getter);
+
+            int word = slot / 64;
+            MethodHandle mark = MethodHandles.insertArguments(MARK, 2, 1L << (slot % 64));
+            mark = MethodHandles.collectArguments(mark, 0, same);
+            mark = MethodHandles.collectArguments(mark, 2, words[word]);
+            words[word] = MethodHandles.permuteArguments(mark, wordType, 0, 1, 0, 1);
+
+            MethodHandle setter = model.getSetter(slot);
+            if (setter == null) {
+                writable = false;
+            } else if (writable) {
+                MethodHandle copy = MethodHandles.filterArguments(setter.asType(MethodType.methodType(void.class, Object.class, fieldType)), 1, getter);
+                copier = MethodHandles.foldArguments(copier, MethodHandles.permuteArguments(copy, copierType, 1, 0));
+            }
+        }
+
+        Reflector reflector = model.getReflector();
+        String typeName = type.getName();
+        this.typeName = typeName;
+        this.record = type.isRecord();
+        this.words = words;
+        if (writable && reflector.getNonInstantiableMessage(type, typeName) == null) {
+            this.instantiator = reflector.getInstantiator(type, typeName);
+            this.copier = copier;
+        } else {
+            this.instantiator = null;
+            this.copier = null;
+        }
+    }
+
+    /**
+     * Finds which fields differ between two objects.
+     *
+     * @param before The first object.
+     * @param after  The second object.
+     * @return The slots of the fields that differ.
+     */
+    public BitSet diff(T before, T after) {
+        long[] bits = new long[words.length];
+        for (int word = 0; word < bits.length; word++) {
+            bits[word] = diff(word, before, after);
+        }
+        return BitSet.valueOf(bits);
+    }
+
+    /**
+     * Checks whether any field differs between two objects.
+     *
+     * @param before The first object.
+     * @param after  The second object.
+     * @return {@code true} if at least one field differs.
+     */
+    public boolean differs(T before, T after) {
+        for (int word = 0; word < words.length; word++) {
+            if (diff(word, before, after) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long diff(int word, T before, T after) {
+        try {
+            return (long) words[word].invokeExact((Object) before, (Object) after);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Captures the current field values of an object, for comparing them later
+     * with {@link #diff(Object, Object)}. The values are shared, so a change
+     * inside a referenced object is not detected.
+     *
+     * @param instance The object.
+     * @return A shallow copy of the object, or the object itself if the class
+     * is a record.
+     * @throws ReflectionException If the class is not a record and cannot be
+     *                             instantiated or has fields that cannot be
+     *                             written.
+     */
+    public T snapshot(T instance) {
+        if (record) {
+            return instance;
+        }
+        if (copier == null) {
+            throw new ReflectionException("Class %s cannot be captured".formatted(typeName));
+        }
+        T copy = instantiator.newInstance();
+        try {
+            copier.invokeExact((Object) instance, (Object) copy);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Parses the constants of an enum, by name or by {@link Alias}.
+ * </p>
+ * <p>
+ * The names are placed in a collision-free hash table, built once per enum by
+ * searching for a seed that maps each name to its own bucket. A lookup hashes
+ * the sequence, compares it with the single candidate and never throws on a
+ * miss. The table has at most four buckets per name, and if no seed is found
+ * within this limit, which is certain if two names collide for every seed,
+ * the names are placed with linear probing instead. In both cases, a lookup
+ * compares the characters of the sequence in place and does not allocate. If
+ * the parser is case-insensitive, characters are compared by their
+ * lower-case forms.
+ * </p>
+ *
+ * @param <E> The type.
+ */
+public final class EnumParser<E extends Enum<E>> {
+    private static final int MAX_SEEDS = 256;
+    private static final int MAX_LOAD = 4;
+
+    private final Class<E> type;
+    private final boolean caseInsensitive;
+    private final int seed;
+    private final int mask;
+    private final boolean perfect;
+    private final String[] keys;
+    private final E[] values;
+
+    EnumParser(Class<E> type, boolean caseInsensitive) {
+        this(type, caseInsensitive, MAX_SEEDS);
+    }
+
+    EnumParser(Class<E> type, boolean caseInsensitive, int maxSeeds) {
+        String typeName = type.getName();
+        Map<String, E> constants = new HashMap<>();
+        for (E constant : type.getEnumConstants()) {
+            put(constants, typeName, caseInsensitive, constant.name(), constant);
+            Alias alias;
+            try {
+                alias = type.getField(constant.name()).getAnnotation(Alias.class);
+            } catch (NoSuchFieldException exception) {
+                throw new AssertionError(exception);
+            }
+            if (alias != null) {
+                for (String name : alias.value()) {
+                    put(constants, typeName, caseInsensitive, name, constant);
+                }
+            }
+        }
+        String[] names = constants.keySet().toArray(new String[0]);
+
+        int maxCapacity = MAX_LOAD * Math.max(names.length, 1);
+        int capacity = Integer.highestOneBit(Math.max(names.length, 1)) << 1;
+        int seed = findSeed(names, capacity - 1, caseInsensitive, maxSeeds);
+        while (seed < 0 && capacity << 1 <= maxCapacity) {
+            capacity <<= 1;
+            seed = findSeed(names, capacity - 1, caseInsensitive, maxSeeds);
+        }
+        boolean perfect = seed >= 0;
+        if (!perfect) {
+            capacity = Integer.highestOneBit(Math.max(names.length, 1)) << 2;
+            seed = 0;
+        }
+        int mask = capacity - 1;
+        String[] keys = new String[capacity];
+        @SuppressWarnings("unchecked")
+        E[] values = (E[]) new Enum<?>[capacity];
+        for (String name : names) {
+            int index = hash(name, seed, caseInsensitive) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = name;
+            values[index] = constants.get(name);
+        }
+
+        this.type = type;
+        this.caseInsensitive = caseInsensitive;
+        this.seed = seed;
+        this.mask = mask;
+        this.perfect = perfect;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    private void put(Map<String, E> constants, String typeName, boolean caseInsensitive, String name, E constant) {
+        String key = caseInsensitive ? fold(name) : name;
+        E existing = constants.putIfAbsent(key, constant);
+        if (existing != null && existing != constant) {
+            throw new ReflectionException("Enum %s must have unique names and aliases, but %s is ambiguous".formatted(typeName, name));
+        }
+    }
+
+    private static String fold(String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    private static int findSeed(String[] names, int mask, boolean caseInsensitive, int maxSeeds) {
+        for (int seed = 0; seed < maxSeeds; seed++) {
+            if (isPerfect(names, seed, mask, caseInsensitive)) {
+                return seed;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isPerfect(String[] names, int seed, int mask, boolean caseInsensitive) {
+        boolean[] used = new boolean[mask + 1];
+        for (String name : names) {
+            int index = hash(name, seed, caseInsensitive) & mask;
+            if (used[index]) {
+                return false;
+            }
+            used[index] = true;
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence valueSequence, int start, int end, int seed, boolean caseInsensitive) {
+        int hash = seed * 0x9E3779B9;
+        for (int i = start; i < end; i++) {
+            char c = valueSequence.charAt(i);
+            hash = 31 * hash + (caseInsensitive ? Character.toLowerCase(c) : c);
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+
+    private static int hash(CharSequence valueSequence, int seed, boolean caseInsensitive) {
+        return hash(valueSequence, 0, valueSequence.length(), seed, caseInsensitive);
+    }
+
+    /**
+     * Obtains the enum type.
+     *
+     * @return The type.
+     */
+    public Class<E> getType() {
+        return type;
+    }
+
+    /**
+     * Indicates whether this parser is case-insensitive.
+     *
+     * @return {@code true} if names are compared ignoring case.
+     */
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    /**
+     * Finds a constant.
+     *
+     * @param valueSequence The name or alias.
+     * @return The constant, or {@code null} if there is none.
+     */
+    public E find(CharSequence valueSequence) {
+        return find(valueSequence, 0, valueSequence.length());
+    }
+
+    private E find(CharSequence valueSequence, int start, int end) {
+        int index = hash(valueSequence, start, end, seed, caseInsensitive) & mask;
+        String key;
+        while ((key = keys[index]) != null) {
+            if (matches(key, valueSequence, start, end)) {
+                return values[index];
+            }
+            if (perfect) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private boolean matches(String key, CharSequence valueSequence, int start, int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = valueSequence.charAt(start + i);
+            if ((caseInsensitive ? Character.toLowerCase(c) : c) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a constant.
+     *
+     * @param valueSequence The name or alias.
+     * @return The constant.
+     * @throws IllegalArgumentException If there is no such constant.
+     */
+    public E parse(CharSequence valueSequence) {
+        E constant = find(valueSequence);
+        if (constant == null) {
+            throw new IllegalArgumentException("No constant %s in enum %s".formatted(valueSequence, type.getName()));
+        }
+        return constant;
+    }
+
+    /**
+     * Parses delimited constants into a set. Whitespace around each name is
+     * ignored, and so is a last name that is blank.
+     *
+     * @param valueSequence The names or aliases.
+     * @param delimiter     The delimiter.
+     * @return The set.
+     * @throws IllegalArgumentException If a name does not match a constant.
+     */
+    public EnumSet<E> parseSet(CharSequence valueSequence, char delimiter) {
+        EnumSet<E> set = EnumSet.noneOf(type);
+        int length = valueSequence.length();
+        int start = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || valueSequence.charAt(i) == delimiter) {
+                int begin = start;
+                int end = i;
+                while (begin < end && Character.isWhitespace(valueSequence.charAt(begin))) {
+                    begin++;
+                }
+                while (end > begin && Character.isWhitespace(valueSequence.charAt(end - 1))) {
+                    end--;
+                }
+                if (!(i == length && begin == end)) {
+                    E constant = find(valueSequence, begin, end);
+                    if (constant == null) {
+                        throw new IllegalArgumentException("No constant %s in enum %s".formatted(valueSequence.subSequence(begin, end), type.getName()));
+                    }
+                    set.add(constant);
+                }
+                start = i + 1;
+            }
+        }
+        return set;
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * <p>
+ * Walks the graph of objects reachable from a root and estimates how much
+ * memory they occupy.
+ * </p>
+ * <p>
+ * Each object is visited once, even if it is reachable through several paths,
+ * including cycles. The fields of classes that only inherit fields from
+ * packages open to this library are followed through handles compiled once
+ * per class. Other classes, such as subclasses of {@link ArrayList}, are
+ * leaves, except for collections and maps, whose elements are followed through
+ * iteration. Class objects, enum constants and the objects of excluded classes
+ * are shared, so they are neither visited nor counted.
+ * </p>
+ * <p>
+ * Sizes are estimated from the field layout and the array lengths, assuming
+ * a 64-bit virtual machine with compressed references: a 12-byte object
+ * header, a 16-byte array header, 4-byte references and 8-byte alignment.
+ * The internal structure of the classes that are not open, such as the
+ * backing arrays of collections, is not counted, except for the characters of
+ * strings. These are counted as one byte each if all of them are Latin-1 and
+ * as two bytes each otherwise, assuming compact strings are enabled, which is
+ * the default.
+ * </p>
+ */
+public final class GraphWalker {
+    private static final long OBJECT_HEADER = 12;
+    private static final long ARRAY_HEADER = 16;
+    private static final long REFERENCE = 4;
+    private static final long ALIGNMENT = 8;
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    private static long sizeOf(Class<?> type) {
+        if (type.equals(long.class) || type.equals(double.class)) {
+            return 8;
+        }
+        if (type.equals(int.class) || type.equals(float.class)) {
+            return 4;
+        }
+        if (type.equals(short.class) || type.equals(char.class)) {
+            return 2;
+        }
+        if (type.equals(byte.class) || type.equals(boolean.class)) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private final ModelFactory modelFactory;
+    private final Set<Class<?>> excludedTypes;
+    private final ConcurrentMap<Class<?>, Set<String>> excludedNames;
+    private final ConcurrentMap<Class<?>, Layout> cache;
+
+    GraphWalker(ModelFactory modelFactory) {
+        this.modelFactory = modelFactory;
+        this.excludedTypes = ConcurrentHashMap.newKeySet();
+        this.excludedNames = new ConcurrentHashMap<>();
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Excludes a class, so its objects and the objects of its subclasses are
+     * neither visited nor counted.
+     *
+     * @param type The class.
+     */
+    public void setExcluded(Class<?> type) {
+        Objects.requireNonNull(type, "Type cannot be null");
+        excludedTypes.add(type);
+        cache.clear();
+    }
+
+    /**
+     * Excludes fields of a class, so their values are not followed. The fields
+     * can be declared by the class or by its superclasses, and this also
+     * applies to subclasses.
+     *
+     * @param type  The class.
+     * @param names The field names.
+     * @throws ReflectionException If a field does not exist.
+     */
+    public void setExcluded(Class<?> type, String... names) {
+        Objects.requireNonNull(type, "Type cannot be null");
+        ClassModel<?> model = modelFactory.get(type);
+        for (String name : names) {
+            model.getSlot(name);
+        }
+        excludedNames.computeIfAbsent(type, (key) -> ConcurrentHashMap.newKeySet()).addAll(List.of(names));
+        cache.clear();
+    }
+
+    /**
+     * Estimates the memory occupied by an object itself, not counting the
+     * objects it references.
+     *
+     * @param instance The object.
+     * @return The size in bytes, or {@code 0} if the object is {@code null}.
+     */
+    public long getShallowSize(Object instance) {
+        if (instance == null) {
+            return 0;
+        }
+        Class<?> type = instance.getClass();
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            return align(ARRAY_HEADER + sizeOf(componentType) * Array.getLength(instance));
+        }
+        long size = cache.computeIfAbsent(type, this::compute).size();
+        if (instance instanceof String string) {
+            int length = string.length();
+            size += align(ARRAY_HEADER + (isLatin1(string) ? length : 2L * length));
+        }
+        return size;
+    }
+
+    private boolean isLatin1(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the memory retained by an object, as the total shallow size
+     * of the objects reachable from it. Objects that are also reachable from
+     * outside the graph are counted too, so this is an upper bound.
+     *
+     * @param root The object.
+     * @return The size in bytes.
+     */
+    public long getRetainedSize(Object root) {
+        return getRetainedSize(root, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Estimates the memory retained by an object, as the total shallow size
+     * of the objects reachable from it within a maximum depth.
+     *
+     * @param root     The object.
+     * @param maxDepth The maximum depth, where the root has depth {@code 0}.
+     * @return The size in bytes.
+     */
+    public long getRetainedSize(Object root, int maxDepth) {
+        long[] total = new long[1];
+        walk(root, maxDepth, (instance, depth) -> total[0] += getShallowSize(instance));
+        return total[0];
+    }
+
+    /**
+     * Visits the objects reachable from a root, in breadth-first order.
+     *
+     * @param root     The object.
+     * @param maxDepth The maximum depth, where the root has depth {@code 0}.
+     * @param visitor  A consumer that receives each object and its depth.
+     * @throws IllegalArgumentException If the maximum depth is negative.
+     */
+    public void walk(Object root, int maxDepth, ObjIntConsumer<Object> visitor) {
+        Objects.requireNonNull(visitor, "Visitor cannot be null");
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Maximum depth must be non-negative");
+        }
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Object> level = new ArrayList<>();
+        if (accepts(root)) {
+            visited.add(root);
+            level.add(root);
+        }
+        int depth = 0;
+        while (!level.isEmpty()) {
+            List<Object> next = new ArrayList<>();
+            for (Object instance : level) {
+                visitor.accept(instance, depth);
+                if (depth < maxDepth) {
+                    for (Object child : children(instance)) {
+                        if (accepts(child) && visited.add(child)) {
+                            next.add(child);
+                        }
+                    }
+                }
+            }
+            level = next;
+            depth++;
+        }
+    }
+
+    private boolean accepts(Object instance) {
+        if (instance == null) {
+            return false;
+        }
+        Class<?> type = instance.getClass();
+        return type.isArray() || !cache.computeIfAbsent(type, this::compute).excluded();
+    }
+
+    private Iterable<?> children(Object instance) {
+        if (instance instanceof Object[] array) {
+            return Arrays.asList(array);
+        }
+        if (instance.getClass().isArray()) {
+            return List.of();
+        }
+        Layout layout = cache.computeIfAbsent(instance.getClass(), this::compute);
+        MethodHandle[] getters = layout.getters();
+        if (getters == null) {
+            if (instance instanceof Collection<?> collection) {
+                return collection;
+            }
+            if (instance instanceof Map<?, ?> map) {
+                List<Object> entries = new ArrayList<>(map.size() * 2);
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    entries.add(entry.getKey());
+                    entries.add(entry.getValue());
+                }
+                return entries;
+            }
+            return List.of();
+        }
+        List<Object> values = new ArrayList<>(getters.length);
+        for (MethodHandle getter : getters) {
+            Object value;
+            try {
+                value = (Object) getter.invokeExact(instance);
+            } catch (Throwable throwable) {
+                throw Reflector.rethrow(throwable);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    private Layout compute(Class<?> type) {
+        long size = OBJECT_HEADER;
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += sizeOf(field.getType());
+                }
+            }
+        }
+        size = align(size);
+
+        boolean excluded = type.equals(Class.class) || Enum.class.isAssignableFrom(type);
+        for (Class<?> excludedType : excludedTypes) {
+            excluded = excluded || excludedType.isAssignableFrom(type);
+        }
+
+        MethodHandle[] getters = null;
+        if (!excluded && Reflector.isOpen(type)) {
+            Set<Field> excludedFields = new HashSet<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                Set<String> names = excludedNames.get(current);
+                if (names != null) {
+                    ClassModel<?> currentModel = modelFactory.get(current);
+                    for (String name : names) {
+                        excludedFields.add(currentModel.getField(currentModel.getSlot(name)));
+                    }
+                }
+            }
+            ClassModel<?> model = modelFactory.get(type);
+            MethodType getterType = MethodType.methodType(Object.class, Object.class);
+            List<MethodHandle> handles = new ArrayList<>();
+            for (int slot = 0; slot < model.size(); slot++) {
+                if (!(model.getFieldType(slot).isPrimitive() || excludedFields.contains(model.getField(slot)))) {
+                    handles.add(model.getGetter(slot).asType(getterType));
+                }
+            }
+            getters = handles.toArray(new MethodHandle[0]);
+        }
+        return new Layout(size, excluded, getters);
+    }
+
+    private record Layout(long size, boolean excluded, MethodHandle[] getters) {
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * <p>
+ * Parses the canonical ISO representations of {@link UUID} and of some
+ * {@code java.time} types directly from character sequences.
+ * </p>
+ * <p>
+ * Only the common shapes are handled here: four-digit years, seconds with up
+ * to nine fraction digits, {@code Z} or {@code ±HH:MM} offsets and upper-case
+ * durations without component signs. Seconds are optional, except in an
+ * {@link java.time.Instant}, which requires them. Any other shape, including
+ * invalid values, falls back to the {@code parse} method of the type, so the
+ * accepted grammar and the thrown exceptions are the same.
+ * </p>
+ */
+final class IsoParser {
+    private static final int[] FRACTION_SCALES = {
+            0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+    static UUID parseUuid(CharSequence valueSequence) {
+        if (valueSequence.length() == 36
+                && valueSequence.charAt(8) == '-'
+                && valueSequence.charAt(13) == '-'
+                && valueSequence.charAt(18) == '-'
+                && valueSequence.charAt(23) == '-') {
+            long a = hex(valueSequence, 0, 8);
+            long b = hex(valueSequence, 9, 13);
+            long c = hex(valueSequence, 14, 18);
+            long d = hex(valueSequence, 19, 23);
+            long e = hex(valueSequence, 24, 36);
+            if ((a | b | c | d | e) >= 0) {
+                return new UUID(a << 32 | b << 16 | c, d << 48 | e);
+            }
+        }
+        return UUID.fromString(valueSequence.toString());
+    }
+
+    static LocalDate parseLocalDate(CharSequence valueSequence) {
+        LocalDate date = null;
+        if (valueSequence.length() == 10) {
+            date = date(valueSequence);
+        }
+        return date == null ? LocalDate.parse(valueSequence) : date;
+    }
+
+    static LocalDateTime parseLocalDateTime(CharSequence valueSequence) {
+        LocalDateTime dateTime = dateTime(valueSequence, valueSequence.length());
+        return dateTime == null ? LocalDateTime.parse(valueSequence) : dateTime;
+    }
+
+    static OffsetDateTime parseOffsetDateTime(CharSequence valueSequence) {
+        int length = valueSequence.length();
+        int index = offsetIndex(valueSequence, length);
+        if (index != -1) {
+            ZoneOffset offset = offset(valueSequence, index, length);
+            LocalDateTime dateTime = offset == null ? null : dateTime(valueSequence, index);
+            if (dateTime != null) {
+                return OffsetDateTime.of(dateTime, offset);
+            }
+        }
+        return OffsetDateTime.parse(valueSequence);
+    }
+
+    static Instant parseInstant(CharSequence valueSequence) {
+        int length = valueSequence.length();
+        int index = offsetIndex(valueSequence, length);
+        if (index >= 19) {
+            ZoneOffset offset = offset(valueSequence, index, length);
+            LocalDateTime dateTime = offset == null ? null : dateTime(valueSequence, index);
+            if (dateTime != null) {
+                return Instant.ofEpochSecond(dateTime.toEpochSecond(offset), dateTime.getNano());
+            }
+        }
+        return Instant.parse(valueSequence);
+    }
+
+    static Duration parseDuration(CharSequence valueSequence) {
+        Duration duration = duration(valueSequence);
+        return duration == null ? Duration.parse(valueSequence) : duration;
+    }
+
+    private static LocalDate date(CharSequence valueSequence) {
+        if (valueSequence.charAt(4) != '-' || valueSequence.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(valueSequence, 0, 4);
+        int month = digits(valueSequence, 5, 7);
+        int day = digits(valueSequence, 8, 10);
+        if ((year | month | day) < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException exception) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime dateTime(CharSequence valueSequence, int end) {
+        if (end < 16 || valueSequence.charAt(10) != 'T' || valueSequence.charAt(13) != ':') {
+            return null;
+        }
+        LocalDate date = date(valueSequence);
+        if (date == null) {
+            return null;
+        }
+        int hour = digits(valueSequence, 11, 13);
+        int minute = digits(valueSequence, 14, 16);
+        int second = 0;
+        int nano = 0;
+        if (end > 16) {
+            if (end < 19 || valueSequence.charAt(16) != ':') {
+                return null;
+            }
+            second = digits(valueSequence, 17, 19);
+            if (end > 19) {
+                int length = end - 20;
+                if (valueSequence.charAt(19) != '.' || length < 1 || length > 9) {
+                    return null;
+                }
+                nano = digits(valueSequence, 20, end);
+                if (nano < 0) {
+                    return null;
+                }
+                nano *= FRACTION_SCALES[length];
+            }
+        }
+        if ((hour | minute | second) < 0) {
+            return null;
+        }
+        try {
+            return date.atTime(hour, minute, second, nano);
+        } catch (DateTimeException exception) {
+            return null;
+        }
+    }
+
+    private static int offsetIndex(CharSequence valueSequence, int length) {
+        if (length > 0 && valueSequence.charAt(length - 1) == 'Z') {
+            return length - 1;
+        }
+        if (length > 6) {
+            char sign = valueSequence.charAt(length - 6);
+            if (sign == '+' || sign == '-') {
+                return length - 6;
+            }
+        }
+        return -1;
+    }
+
+    private static ZoneOffset offset(CharSequence valueSequence, int start, int end) {
+        if (end - start == 1) {
+            return ZoneOffset.UTC;
+        }
+        if (valueSequence.charAt(start + 3) != ':') {
+            return null;
+        }
+        int hours = digits(valueSequence, start + 1, start + 3);
+        int minutes = digits(valueSequence, start + 4, end);
+        if ((hours | minutes) < 0 || hours > 18 || minutes > 59) {
+            return null;
+        }
+        int seconds = hours * 3600 + minutes * 60;
+        try {
+            return ZoneOffset.ofTotalSeconds(valueSequence.charAt(start) == '-' ? -seconds : seconds);
+        } catch (DateTimeException exception) {
+            return null;
+        }
+    }
+
+    private static Duration duration(CharSequence valueSequence) {
+        int length = valueSequence.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && valueSequence.charAt(i) == '-') {
+            negative = true;
+            i++;
+        }
+        if (i == length || valueSequence.charAt(i) != 'P') {
+            return null;
+        }
+        i++;
+        long seconds = 0;
+        int nano = 0;
+        int unit = 0;
+        boolean time = false;
+        boolean empty = true;
+        while (i < length) {
+            char c = valueSequence.charAt(i);
+            if (c == 'T') {
+                if (time || i + 1 == length) {
+                    return null;
+                }
+                time = true;
+                unit = 1;
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && isDigit(valueSequence.charAt(i))) {
+                i++;
+            }
+            int end = i;
+            if (end == start || end - start > 9 || i == length) {
+                return null;
+            }
+            long value = digits(valueSequence, start, end);
+            c = valueSequence.charAt(i++);
+            if (c == '.') {
+                start = i;
+                while (i < length && isDigit(valueSequence.charAt(i))) {
+                    i++;
+                }
+                int fraction = i - start;
+                if (!time || fraction < 1 || fraction > 9 || i == length || valueSequence.charAt(i) != 'S') {
+                    return null;
+                }
+                nano = digits(valueSequence, start, i) * FRACTION_SCALES[fraction];
+                c = valueSequence.charAt(i++);
+            }
+            int next;
+            long scale;
+            if (!time && c == 'D') {
+                next = 1;
+                scale = 86_400;
+            } else if (time && c == 'H') {
+                next = 2;
+                scale = 3_600;
+            } else if (time && c == 'M') {
+                next = 3;
+                scale = 60;
+            } else if (time && c == 'S') {
+                next = 4;
+                scale = 1;
+            } else {
+                return null;
+            }
+            if (next <= unit) {
+                return null;
+            }
+            unit = next;
+            seconds += value * scale;
+            empty = false;
+        }
+        if (empty || (time && unit == 1)) {
+            return null;
+        }
+        Duration duration = Duration.ofSeconds(seconds, nano);
+        return negative ? duration.negated() : duration;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int digits(CharSequence valueSequence, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = valueSequence.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long hex(CharSequence valueSequence, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = valueSequence.charAt(i);
+            int digit;
+            if (isDigit(c)) {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else if (c >= 'A' && c <= 'F') {
+                digit = c - 'A' + 10;
+            } else {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private IsoParser() {
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import org.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Loads the values of reference fields on first access, for relations that
+ * are expensive to load eagerly.
+ * </p>
+ * <p>
+ * A loader is registered once per field, and the field is read through
+ * {@link #get(Object, int)}. The first access calls the loader and stores the
+ * result in the field, and later accesses only read it with acquire
+ * semantics. Loading is thread-safe and happens at most once per object and
+ * field, unless the loader returns {@code null}, fails, or the field is reset.
+ * </p>
+ * <p>
+ * The getters of the class can call {@link #get(Object, int)} themselves, or
+ * the objects can be created by {@link #getInstantiator()}, which generates a
+ * subclass whose getters of the registered fields do it. The subclass is
+ * defined in the package of the class, so that package must be open to this
+ * module, and the module of the class must read this module.
+ * </p>
+ * <p>
+ * Concurrent accesses to the same object and field wait for a single
+ * {@link FutureTask}, claimed with {@link ConcurrentMap#putIfAbsent}, so no
+ * lock is shared between different objects or fields and none is held while
+ * the loader runs. The task is only created after a lookup shows that no load
+ * is in progress. A loader that accesses its own field on the same object
+ * fails instead of waiting for itself.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class LazyLoader<T> {
+    private static final AtomicInteger SUBCLASS_COUNT = new AtomicInteger();
+
+    private final ClassModel<T> model;
+    private final VarAccessor<T> accessor;
+    private final AtomicReferenceArray<Function<? super T, ?>> loaders;
+    private final ConcurrentMap<Pending, Pending> loads;
+    private volatile ObjectInstantiator<T> instantiator;
+
+    LazyLoader(ClassModel<T> model) {
+        this.model = model;
+        this.accessor = model.getVarAccessor();
+        this.loaders = new AtomicReferenceArray<>(model.size());
+        this.loads = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Registers the loader of a field.
+     *
+     * @param name   The field name.
+     * @param loader A function that receives the object and returns the value
+     *               of the field.
+     * @return The slot of the field.
+     * @throws ReflectionException If the field does not exist, is primitive,
+     *                             is final, already has a loader, or the
+     *                             subclass has already been generated.
+     */
+    public int register(String name, Function<? super T, ?> loader) {
+        Objects.requireNonNull(loader, "Loader cannot be null");
+        int slot = model.getSlot(name);
+        String typeName = model.getType().getName();
+        if (model.getFieldType(slot).isPrimitive()) {
+            throw new ReflectionException("Field %s of class %s cannot be primitive".formatted(name, typeName));
+        }
+        if (Modifier.isFinal(model.getModifiers(slot))) {
+            throw new ReflectionException("Field %s of class %s cannot be final".formatted(name, typeName));
+        }
+        synchronized (loaders) {
+            if (instantiator != null) {
+                throw new ReflectionException("Field %s of class %s cannot be registered after the subclass is generated".formatted(name, typeName));
+            }
+            if (!loaders.compareAndSet(slot, null, loader)) {
+                throw new ReflectionException("Field %s of class %s already has a loader".formatted(name, typeName));
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Obtains an instantiator of a subclass whose getters of the registered
+     * fields load them on first access. The subclass is generated on the first
+     * call, and each getter must be named after its field, with the
+     * {@code get} prefix, have no parameters, and not be private, static or
+     * final. The objects are created without calling any constructor.
+     *
+     * @return The cached instantiator.
+     * @throws ReflectionException If the class is not instantiable, is final,
+     *                             is not in a package open to this module, or
+     *                             a registered field does not have a valid
+     *                             getter.
+     */
+    public ObjectInstantiator<T> getInstantiator() {
+        ObjectInstantiator<T> instantiator = this.instantiator;
+        if (instantiator == null) {
+            synchronized (loaders) {
+                instantiator = this.instantiator;
+                if (instantiator == null) {
+                    instantiator = createInstantiator();
+                    this.instantiator = instantiator;
+                }
+            }
+        }
+        return instantiator;
+    }
+
+    private ObjectInstantiator<T> createInstantiator() {
+        Class<T> type = model.getType();
+        String typeName = type.getName();
+        Reflector reflector = model.getReflector();
+        reflector.checkInstantiable(type, typeName);
+        if (Modifier.isFinal(type.getModifiers())) {
+            throw new ReflectionException("Class %s cannot be final".formatted(typeName));
+        }
+        List<Method> getters = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        for (int slot = 0; slot < loaders.length(); slot++) {
+            if (loaders.get(slot) != null) {
+                getters.add(getGetter(type, slot));
+                slots.add(slot);
+            }
+        }
+
+        LazyLoader.class.getModule().addReads(type.getModule());
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, reflector.getLookup());
+        } catch (IllegalAccessException exception) {
+            lookup = null;
+        }
+        if (lookup == null || !lookup.hasFullPrivilegeAccess()) {
+            throw new ReflectionException("Class %s must be in a package open to this module".formatted(typeName));
+        }
+        String name = "%s$Lazy%d".formatted(typeName, SUBCLASS_COUNT.incrementAndGet());
+        byte[] bytes = new LazyWriter().write(name, type, getters, slots.stream().mapToInt(Integer::intValue).toArray());
+        Class<? extends T> subType;
+        try {
+            subType = lookup.defineClass(bytes).asSubclass(type);
+            Field field = subType.getDeclaredField("loader");
+            field.setAccessible(true);
+            field.set(null, this);
+        } catch (IllegalAccessException | NoSuchFieldException exception) {
+            throw new AssertionError(exception);
+        }
+        ObjectInstantiator<? extends T> subInstantiator = reflector.getInstantiator(subType, name);
+        return reflector.uncheckedCast(subInstantiator);
+    }
+
+    private Method getGetter(Class<T> type, int slot) {
+        String name = model.getName(slot);
+        String getterName = "get%s%s".formatted(Character.toUpperCase(name.charAt(0)), name.substring(1));
+        for (Class<?> declaringType = type; declaringType != null; declaringType = declaringType.getSuperclass()) {
+            Method getter;
+            try {
+                getter = declaringType.getDeclaredMethod(getterName);
+            } catch (NoSuchMethodException exception) {
+                continue;
+            }
+            int modifiers = getter.getModifiers();
+            boolean inherited = Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers) || declaringType.getPackageName().equals(type.getPackageName());
+            if (Modifier.isPrivate(modifiers) || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || !inherited) {
+                throw new ReflectionException("Method %s of class %s cannot be private, static, final or package-private in another package".formatted(getterName, declaringType.getName()));
+            }
+            if (!getter.getReturnType().isAssignableFrom(model.getFieldType(slot))) {
+                throw new ReflectionException("Method %s of class %s must return a supertype of %s".formatted(getterName, declaringType.getName(), model.getFieldType(slot).getName()));
+            }
+            return getter;
+        }
+        throw new ReflectionException("Field %s of class %s must have a getter %s".formatted(name, type.getName(), getterName));
+    }
+
+    /**
+     * Reads the value of a field, loading it on first access.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param <F>      The field type.
+     * @return The value.
+     * @throws ReflectionException If no loader was registered for the field
+     *                             or the loader accesses its own field.
+     */
+    public <F> F get(T instance, int slot) {
+        Object value = accessor.getAcquire(instance, slot);
+        if (value == null) {
+            Function<? super T, ?> loader = loaders.get(slot);
+            if (loader == null) {
+                throw new ReflectionException("Field %s of class %s must have a loader".formatted(model.getName(slot), model.getType().getName()));
+            }
+            value = load(instance, slot, loader);
+        }
+        return model.getReflector().uncheckedCast(value);
+    }
+
+    private Object load(T instance, int slot, Function<? super T, ?> loader) {
+        Pending pending = new Pending(instance, slot);
+        Pending current = loads.get(pending);
+        if (current == null) {
+            pending.claim(loader);
+            current = loads.putIfAbsent(pending, pending);
+            if (current == null) {
+                try {
+                    pending.task.run();
+                } finally {
+                    loads.remove(pending, pending);
+                }
+                current = pending;
+            }
+        }
+        if (current != pending && current.thread == Thread.currentThread()) {
+            throw new ReflectionException("Loader of field %s of class %s cannot access the field".formatted(model.getName(slot), model.getType().getName()));
+        }
+        try {
+            return current.task.get();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw Reflector.rethrow(cause);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new ReflectionException("Loader of field %s of class %s was interrupted".formatted(model.getName(slot), model.getType().getName()), exception);
+        }
+    }
+
+    /**
+     * Checks whether the value of a field has been loaded.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return {@code true} if the field is not {@code null}.
+     */
+    public boolean isLoaded(T instance, int slot) {
+        return accessor.getAcquire(instance, slot) != null;
+    }
+
+    /**
+     * Clears the value of a field, so it is loaded again on the next access.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     */
+    public void reset(T instance, int slot) {
+        accessor.setRelease(instance, slot, null);
+    }
+
+    private final class Pending implements Callable<Object> {
+        private final T instance;
+        private final int slot;
+        private Function<? super T, ?> loader;
+        private Thread thread;
+        private FutureTask<Object> task;
+
+        private Pending(T instance, int slot) {
+            this.instance = instance;
+            this.slot = slot;
+        }
+
+        private void claim(Function<? super T, ?> loader) {
+            this.loader = loader;
+            this.thread = Thread.currentThread();
+            this.task = new FutureTask<>(this);
+        }
+
+        @Override
+        public Object call() {
+            Object value = accessor.getAcquire(instance, slot);
+            if (value == null) {
+                value = loader.apply(instance);
+                accessor.setRelease(instance, slot, value);
+            }
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof LazyLoader<?>.Pending pending && instance == pending.instance && slot == pending.slot;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(instance) * 31 + slot;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * <p>
+ * Writes the bytes of a class that extends a concrete class by overriding
+ * each of the given getters with a call to {@link LazyLoader#get(Object, int)}
+ * for the corresponding slot.
+ * </p>
+ * <p>
+ * The loader is stored in a private static field, which must be set right
+ * after the class is defined, and the class has no constructors, because it
+ * is meant to be instantiated without calling any.
+ * </p>
+ */
+final class LazyWriter {
+    private static final int VERSION = 65;
+    private static final String OBJECT = "java/lang/Object";
+    private static final String LOADER = "loader";
+    private static final String LOADER_DESCRIPTOR = "L%s;".formatted(LazyLoader.class.getName().replace('.', '/'));
+
+    private final ConstantPool pool;
+
+    LazyWriter() {
+        this.pool = new ConstantPool();
+    }
+
+    /**
+     * Writes the class. An instance must be used only once.
+     *
+     * @param name      The binary name, which must be in the package of the
+     *                  lookup that defines the class.
+     * @param superType The class to extend.
+     * @param getters   The getters, which must have no parameters and return a
+     *                  reference type.
+     * @param slots     The slot of each getter.
+     * @return The bytes.
+     */
+    byte[] write(String name, Class<?> superType, List<Method> getters, int[] slots) {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(body);
+            output.writeShort(0x0031); // public final super
+            output.writeShort(pool.classRef(name.replace('.', '/')));
+            output.writeShort(pool.classRef(internalName(superType)));
+            output.writeShort(0);
+
+            output.writeShort(1);
+            output.writeShort(0x000a); // private static
+            output.writeShort(pool.utf8(LOADER));
+            output.writeShort(pool.utf8(LOADER_DESCRIPTOR));
+            output.writeShort(0);
+
+            output.writeShort(getters.size());
+            for (int i = 0; i < getters.size(); i++) {
+                writeGetter(output, name, getters.get(i), slots[i]);
+            }
+
+            output.writeShort(0);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            pool.writeHeader(bytes, VERSION);
+            body.writeTo(bytes);
+            return bytes.toByteArray();
+        } catch (IOException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    private void writeGetter(DataOutputStream output, String name, Method getter, int slot) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        DataOutputStream instructions = new DataOutputStream(code);
+        instructions.writeByte(0xb2); // getstatic
+        instructions.writeShort(pool.fieldRef(name.replace('.', '/'), LOADER, LOADER_DESCRIPTOR));
+        instructions.writeByte(0x2a); // aload_0
+        instructions.writeByte(0x13); // ldc_w
+        instructions.writeShort(pool.integer(slot));
+        instructions.writeByte(0xb6); // invokevirtual
+        instructions.writeShort(pool.methodRef(internalName(LazyLoader.class), "get", "(L%s;I)L%s;".formatted(OBJECT, OBJECT)));
+        instructions.writeByte(0xc0); // checkcast
+        instructions.writeShort(pool.classRef(internalName(getter.getReturnType())));
+        instructions.writeByte(0xb0); // areturn
+        int access = getter.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED) | Modifier.FINAL;
+        String descriptor = "()%s".formatted(getter.getReturnType().descriptorString());
+        pool.writeMethod(output, access, getter.getName(), descriptor, 3, 1, code);
+    }
+
+    private String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Represents the instance and static methods of a class, including the ones
+ * declared by its superclasses and the default methods inherited from its
+ * interfaces, grouped by name.
+ * </p>
+ * <p>
+ * Synthetic and bridge methods are ignored, a method overridden by a
+ * subclass is replaced by the override, and a non-public method that cannot be
+ * made accessible, such as one declared by a class of the JDK, is skipped. The
+ * methods are unreflected once, and the overload chosen for each combination
+ * of name and argument classes is cached. The first combinations of each name
+ * are kept in a small array compared by identity, so a lookup does not
+ * allocate, and any further combinations are kept in a map.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class MethodIndex<T> {
+    private static final int RESOLUTION_LIMIT = 16;
+    private static final Map<Class<?>, Set<Class<?>>> WIDENINGS = Map.of(
+            byte.class, Set.of(short.class, int.class, long.class, float.class, double.class),
+            short.class, Set.of(int.class, long.class, float.class, double.class),
+            char.class, Set.of(int.class, long.class, float.class, double.class),
+            int.class, Set.of(long.class, float.class, double.class),
+            long.class, Set.of(float.class, double.class),
+            float.class, Set.of(double.class));
+
+    private final Class<T> type;
+    private final Map<String, Group> groups;
+
+    MethodIndex(Reflector reflector, Class<T> type) {
+        Map<String, Map<List<Class<?>>, Method>> methodMap = new HashMap<>();
+        for (Class<?> declaringType = type; declaringType != null && !declaringType.equals(Object.class); declaringType = declaringType.getSuperclass()) {
+            for (Method method : declaringType.getDeclaredMethods()) {
+                if (!(method.isSynthetic() || method.isBridge())) {
+                    Map<List<Class<?>>, Method> signatureMap = methodMap.computeIfAbsent(method.getName(), (name) -> new LinkedHashMap<>());
+                    signatureMap.putIfAbsent(List.of(method.getParameterTypes()), method);
+                }
+            }
+        }
+        for (Method method : type.getMethods()) {
+            if (method.isDefault()) {
+                Map<List<Class<?>>, Method> signatureMap = methodMap.computeIfAbsent(method.getName(), (name) -> new LinkedHashMap<>());
+                signatureMap.putIfAbsent(List.of(method.getParameterTypes()), method);
+            }
+        }
+
+        Map<String, Group> groups = new HashMap<>();
+        for (Map.Entry<String, Map<List<Class<?>>, Method>> entry : methodMap.entrySet()) {
+            List<Overload> overloadList = new ArrayList<>();
+            for (Method method : entry.getValue().values()) {
+                if (Modifier.isPublic(method.getModifiers()) && reflector.isPublic(method.getDeclaringClass()) || method.trySetAccessible()) {
+                    overloadList.add(new Overload(method, reflector.unreflect(method)));
+                }
+            }
+            if (!overloadList.isEmpty()) {
+                groups.put(entry.getKey(), new Group(overloadList.toArray(new Overload[0])));
+            }
+        }
+
+        this.type = type;
+        this.groups = groups;
+    }
+
+    /**
+     * Obtains the represented class.
+     *
+     * @return The class.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Obtains the method names.
+     *
+     * @return An unmodifiable set.
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(groups.keySet());
+    }
+
+    /**
+     * Obtains the overloads of a method.
+     *
+     * @param name The method name.
+     * @return An unmodifiable list, empty if there is no method with this
+     * name.
+     */
+    public List<Method> getMethods(String name) {
+        Group group = groups.get(name);
+        if (group == null) {
+            return List.of();
+        }
+        List<Method> methods = new ArrayList<>(group.overloads.length);
+        for (Overload overload : group.overloads) {
+            methods.add(overload.method());
+        }
+        return Collections.unmodifiableList(methods);
+    }
+
+    /**
+     * Finds the most specific overload that accepts arguments of the given
+     * classes, in the phases of the Java language: first without boxing or
+     * unboxing, and then with them. A primitive class represents a primitive
+     * argument, which also accepts primitive widening, and a reference
+     * parameter accepts a {@code null} argument, represented by a
+     * {@code null} class.
+     *
+     * @param name          The method name.
+     * @param argumentTypes The argument classes.
+     * @return The method.
+     * @throws ReflectionException If no overload is applicable or the most
+     *                             specific one is ambiguous.
+     */
+    public Method find(String name, Class<?>... argumentTypes) {
+        return resolve(name, argumentTypes).method();
+    }
+
+    /**
+     * Finds the handle of the most specific overload that accepts arguments of
+     * the given classes, with the same rules of
+     * {@link #find(String, Class[])}.
+     *
+     * @param name          The method name.
+     * @param argumentTypes The argument classes.
+     * @return The handle. If the method is not static, the first parameter
+     * is the instance.
+     * @throws ReflectionException If no overload is applicable or the most
+     *                             specific one is ambiguous.
+     */
+    public MethodHandle findHandle(String name, Class<?>... argumentTypes) {
+        return resolve(name, argumentTypes).handle();
+    }
+
+    private Overload resolve(String name, Class<?>[] argumentTypes) {
+        Group group = groups.get(name);
+        if (group == null) {
+            throw new ReflectionException("Class %s must have a method %s applicable to %s".formatted(type.getName(), name, describe(argumentTypes)));
+        }
+        Resolution[] resolutions = group.resolutions;
+        for (Resolution resolution : resolutions) {
+            if (matches(resolution.argumentTypes(), argumentTypes)) {
+                return resolution.overload();
+            }
+        }
+        Overload overload;
+        if (resolutions.length == RESOLUTION_LIMIT) {
+            overload = group.overflow.get(Arrays.asList(argumentTypes));
+            if (overload != null) {
+                return overload;
+            }
+        }
+        overload = compute(name, group.overloads, argumentTypes);
+        synchronized (group) {
+            Resolution[] current = group.resolutions;
+            for (Resolution resolution : current) {
+                if (matches(resolution.argumentTypes(), argumentTypes)) {
+                    return resolution.overload();
+                }
+            }
+            if (current.length < RESOLUTION_LIMIT) {
+                Resolution[] next = Arrays.copyOf(current, current.length + 1);
+                next[current.length] = new Resolution(argumentTypes.clone(), overload);
+                group.resolutions = next;
+            } else {
+                group.overflow.putIfAbsent(Arrays.asList(argumentTypes.clone()), overload);
+            }
+        }
+        return overload;
+    }
+
+    private boolean matches(Class<?>[] cachedTypes, Class<?>[] argumentTypes) {
+        if (cachedTypes.length != argumentTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < cachedTypes.length; i++) {
+            if (cachedTypes[i] != argumentTypes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Overload compute(String name, Overload[] overloads, Class<?>[] argumentTypes) {
+        List<Overload> applicable = new ArrayList<>();
+        for (Overload overload : overloads) {
+            if (accepts(overload.method().getParameterTypes(), argumentTypes, false)) {
+                applicable.add(overload);
+            }
+        }
+        if (applicable.isEmpty()) {
+            for (Overload overload : overloads) {
+                if (accepts(overload.method().getParameterTypes(), argumentTypes, true)) {
+                    applicable.add(overload);
+                }
+            }
+        }
+        if (applicable.isEmpty()) {
+            throw new ReflectionException("Class %s must have a method %s applicable to %s".formatted(type.getName(), name, describe(argumentTypes)));
+        }
+        Overload best = null;
+        for (Overload candidate : applicable) {
+            Class<?>[] parameterTypes = candidate.method().getParameterTypes();
+            boolean mostSpecific = true;
+            for (Overload other : applicable) {
+                if (other != candidate && !accepts(other.method().getParameterTypes(), parameterTypes, false)) {
+                    mostSpecific = false;
+                    break;
+                }
+            }
+            if (mostSpecific) {
+                if (best != null) {
+                    best = null;
+                    break;
+                }
+                best = candidate;
+            }
+        }
+        if (best == null) {
+            throw new ReflectionException("Method %s of class %s is ambiguous for %s".formatted(name, type.getName(), describe(argumentTypes)));
+        }
+        return best;
+    }
+
+    private boolean accepts(Class<?>[] parameterTypes, Class<?>[] argumentTypes, boolean loose) {
+        if (parameterTypes.length != argumentTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!accepts(parameterTypes[i], argumentTypes[i], loose)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean accepts(Class<?> parameterType, Class<?> argumentType, boolean loose) {
+        if (argumentType == null) {
+            return !parameterType.isPrimitive();
+        }
+        if (parameterType.isPrimitive() == argumentType.isPrimitive()) {
+            if (parameterType.isPrimitive()) {
+                return parameterType.equals(argumentType) || WIDENINGS.getOrDefault(argumentType, Set.of()).contains(parameterType);
+            }
+            return parameterType.isAssignableFrom(argumentType);
+        }
+        if (!loose) {
+            return false;
+        }
+        if (argumentType.isPrimitive()) {
+            return parameterType.isAssignableFrom(MethodType.methodType(argumentType).wrap().returnType());
+        }
+        Class<?> unwrappedType = MethodType.methodType(argumentType).unwrap().returnType();
+        return unwrappedType.isPrimitive() && accepts(parameterType, unwrappedType, false);
+    }
+
+    private String describe(Class<?>[] argumentTypes) {
+        StringJoiner joiner = new StringJoiner(", ", "(", ")");
+        for (Class<?> argumentType : argumentTypes) {
+            joiner.add(argumentType == null ? "null" : argumentType.getName());
+        }
+        return joiner.toString();
+    }
+
+    private record Overload(Method method, MethodHandle handle) {
+    }
+
+    private record Resolution(Class<?>[] argumentTypes, Overload overload) {
+    }
+
+    private static final class Group {
+        private final Overload[] overloads;
+        private final ConcurrentMap<List<Class<?>>, Overload> overflow;
+        private volatile Resolution[] resolutions;
+
+        private Group(Overload[] overloads) {
+            this.overloads = overloads;
+            this.overflow = new ConcurrentHashMap<>();
+            this.resolutions = new Resolution[0];
+        }
+    }
+}
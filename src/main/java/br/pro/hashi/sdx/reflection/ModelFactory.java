@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides class models and method indices, computed once per class. A method
+ * index obtained directly does not require the model, so it is available
+ * even for classes whose fields cannot be made accessible.
+ */
+public final class ModelFactory {
+    private final Reflector reflector;
+    private final ConcurrentMap<Class<?>, ClassModel<?>> cache;
+    private final ConcurrentMap<Class<?>, MethodIndex<?>> indexCache;
+
+    ModelFactory(Reflector reflector) {
+        this.reflector = reflector;
+        this.cache = new ConcurrentHashMap<>();
+        this.indexCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Obtains the model of a class.
+     *
+     * @param type The class.
+     * @param <T>  The type.
+     * @return The cached model.
+     * @throws ReflectionException If the class is an annotation, an array, an
+     *                             interface, primitive, or has a field that
+     *                             cannot be made accessible.
+     */
+    public <T> ClassModel<T> get(Class<T> type) {
+        ClassModel<?> model = cache.computeIfAbsent(type, this::compute);
+        return reflector.uncheckedCast(model);
+    }
+
+    /**
+     * Obtains the method index of a class, reusing the index of its model if
+     * the model has already been computed.
+     *
+     * @param type The class.
+     * @param <T>  The type.
+     * @return The cached index.
+     */
+    public <T> MethodIndex<T> getMethodIndex(Class<T> type) {
+        ClassModel<?> model = cache.get(type);
+        if (model != null) {
+            return reflector.uncheckedCast(model.getMethodIndex());
+        }
+        MethodIndex<?> index = indexCache.computeIfAbsent(type, (key) -> new MethodIndex<>(reflector, key));
+        return reflector.uncheckedCast(index);
+    }
+
+    private <T> ClassModel<T> compute(Class<T> type) {
+        String typeName = type.getName();
+        if (type.isAnnotation()) {
+            throw new ReflectionException("Type %s cannot be an annotation".formatted(typeName));
+        }
+        if (type.isArray()) {
+            throw new ReflectionException("Type %s cannot be an array class".formatted(typeName));
+        }
+        if (type.isInterface()) {
+            throw new ReflectionException("Type %s cannot be an interface".formatted(typeName));
+        }
+        if (type.isPrimitive()) {
+            throw new ReflectionException("Type %s cannot be primitive".formatted(typeName));
+        }
+        return new ClassModel<>(reflector, type);
+    }
+}
@@ -13,20 +13,52 @@ package br.pro.hashi.sdx.reflection;
 import br.pro.hashi.sdx.reflection.exception.ReflectionException;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Stub.
  */
 public final class ParserFactory {
+    private static final MethodHandle APPLY;
+
+    static {
+        try {
+            APPLY = MethodHandles.lookup().findVirtual(Function.class, "apply", MethodType.methodType(Object.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
     private final Reflector reflector;
     private final ConcurrentMap<Class<?>, Function<String, ?>> cache;
+    private final Map<Class<?>, Function<CharSequence, ?>> isoParsers;
+    private final Map<Class<?>, MethodHandle> primitiveHandles;
+    private final Map<Class<?>, Object> primitiveParsers;
+    private final ConcurrentMap<Class<?>, Function<CharSequence, ?>> sequenceCache;
+    private final ConcurrentMap<Method, MethodHandle> invokers;
+    private final ConcurrentMap<EnumKey, EnumParser<?>> enumParsers;
 
     ParserFactory(Reflector reflector) {
         ConcurrentMap<Class<?>, Function<String, ?>> cache = new ConcurrentHashMap<>();
@@ -42,8 +74,89 @@ public final class ParserFactory {
         cache.put(BigInteger.class, BigInteger::new);
         cache.put(BigDecimal.class, BigDecimal::new);
         cache.put(String.class, (valueString) -> valueString);
+        Map<Class<?>, Function<CharSequence, ?>> isoParsers = new HashMap<>();
+        isoParsers.put(UUID.class, IsoParser::parseUuid);
+        isoParsers.put(Instant.class, IsoParser::parseInstant);
+        isoParsers.put(LocalDate.class, IsoParser::parseLocalDate);
+        isoParsers.put(LocalDateTime.class, IsoParser::parseLocalDateTime);
+        isoParsers.put(OffsetDateTime.class, IsoParser::parseOffsetDateTime);
+        isoParsers.put(Duration.class, IsoParser::parseDuration);
+        isoParsers.forEach((type, parser) -> cache.put(type, parser::apply));
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Map<Class<?>, MethodHandle> primitiveHandles = new HashMap<>();
+        try {
+            primitiveHandles.put(boolean.class, lookup.findStatic(Boolean.class, "parseBoolean", MethodType.methodType(boolean.class, String.class)));
+            primitiveHandles.put(byte.class, lookup.findStatic(Byte.class, "parseByte", MethodType.methodType(byte.class, String.class)));
+            primitiveHandles.put(short.class, lookup.findStatic(Short.class, "parseShort", MethodType.methodType(short.class, String.class)));
+            primitiveHandles.put(int.class, lookup.findStatic(Integer.class, "parseInt", MethodType.methodType(int.class, String.class)));
+            primitiveHandles.put(long.class, lookup.findStatic(Long.class, "parseLong", MethodType.methodType(long.class, String.class)));
+            primitiveHandles.put(float.class, lookup.findStatic(Float.class, "parseFloat", MethodType.methodType(float.class, String.class)));
+            primitiveHandles.put(double.class, lookup.findStatic(Double.class, "parseDouble", MethodType.methodType(double.class, String.class)));
+            primitiveHandles.put(char.class, lookup.findVirtual(ParserFactory.class, "parseChar", MethodType.methodType(char.class, String.class)).bindTo(this));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new AssertionError(exception);
+        }
+        Map<Class<?>, Object> primitiveParsers = new HashMap<>();
+        Predicate<CharSequence> booleanParser = this::parseBoolean;
+        ToIntFunction<CharSequence> byteParser = (valueSequence) -> parseInt(valueSequence, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        ToIntFunction<CharSequence> shortParser = (valueSequence) -> parseInt(valueSequence, Short.MIN_VALUE, Short.MAX_VALUE);
+        ToIntFunction<CharSequence> intParser = (valueSequence) -> Integer.parseInt(valueSequence, 0, valueSequence.length(), 10);
+        ToIntFunction<CharSequence> charParser = this::parseChar;
+        ToLongFunction<CharSequence> longParser = (valueSequence) -> Long.parseLong(valueSequence, 0, valueSequence.length(), 10);
+        ToDoubleFunction<CharSequence> floatParser = (valueSequence) -> Float.parseFloat(valueSequence.toString());
+        ToDoubleFunction<CharSequence> doubleParser = (valueSequence) -> Double.parseDouble(valueSequence.toString());
+        putPrimitiveParser(primitiveParsers, boolean.class, Boolean.class, booleanParser);
+        putPrimitiveParser(primitiveParsers, byte.class, Byte.class, byteParser);
+        putPrimitiveParser(primitiveParsers, short.class, Short.class, shortParser);
+        putPrimitiveParser(primitiveParsers, int.class, Integer.class, intParser);
+        putPrimitiveParser(primitiveParsers, char.class, Character.class, charParser);
+        putPrimitiveParser(primitiveParsers, long.class, Long.class, longParser);
+        putPrimitiveParser(primitiveParsers, float.class, Float.class, floatParser);
+        putPrimitiveParser(primitiveParsers, double.class, Double.class, doubleParser);
         this.reflector = reflector;
         this.cache = cache;
+        this.isoParsers = isoParsers;
+        this.primitiveHandles = primitiveHandles;
+        this.primitiveParsers = primitiveParsers;
+        this.sequenceCache = new ConcurrentHashMap<>(isoParsers);
+        this.invokers = new ConcurrentHashMap<>();
+        this.enumParsers = new ConcurrentHashMap<>();
+    }
+
+    private void putPrimitiveParser(Map<Class<?>, Object> primitiveParsers, Class<?> type, Class<?> wrapperType, Object parser) {
+        primitiveParsers.put(type, parser);
+        primitiveParsers.put(wrapperType, parser);
+    }
+
+    boolean parseBoolean(CharSequence valueSequence) {
+        if (valueSequence.length() != 4) {
+            return false;
+        }
+        String expected = "true";
+        for (int i = 0; i < 4; i++) {
+            if (Character.toLowerCase(valueSequence.charAt(i)) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int parseInt(CharSequence valueSequence, int min, int max) {
+        int value = Integer.parseInt(valueSequence, 0, valueSequence.length(), 10);
+        if (value < min || value > max) {
+            throw new NumberFormatException("Value out of range. Value:\"%s\" Radix:10".formatted(valueSequence));
+        }
+        return value;
+    }
+
+    char parseChar(CharSequence valueSequence) {
+        if (valueSequence.isEmpty()) {
+            throw new IllegalArgumentException("Value string cannot be empty");
+        }
+        if (valueSequence.length() > 1) {
+            throw new IllegalArgumentException("Value string must have only one character");
+        }
+        return valueSequence.charAt(0);
     }
 
     char parseChar(String valueString) {
@@ -69,7 +182,287 @@ public final class ParserFactory {
         return parser;
     }
 
+    /**
+     * Obtains a parser that accepts any character sequence. The primitive
+     * types and their wrappers, enums, {@link UUID} and the ISO
+     * {@code java.time} types are parsed directly from the sequence, while
+     * the other types are parsed from its string representation.
+     *
+     * @param type The type.
+     * @param <K>  The type.
+     * @return The cached parser.
+     * @throws ReflectionException If the type cannot be parsed.
+     */
+    public <K> Function<CharSequence, K> getSequenceParser(Class<K> type) {
+        @SuppressWarnings("unchecked")
+        Function<CharSequence, K> parser = (Function<CharSequence, K>) sequenceCache.computeIfAbsent(type, this::computeSequenceParser);
+        return parser;
+    }
+
+    private Function<CharSequence, ?> computeSequenceParser(Class<?> type) {
+        Object primitiveParser = primitiveParsers.get(type);
+        if (type.equals(char.class) || type.equals(Character.class)) {
+            return this::parseChar;
+        }
+        if (primitiveParser instanceof Predicate<?>) {
+            Predicate<CharSequence> parser = getBooleanParser(type);
+            return parser::test;
+        }
+        if (primitiveParser instanceof ToIntFunction<?>) {
+            ToIntFunction<CharSequence> parser = getIntParser(type);
+            if (type.equals(byte.class) || type.equals(Byte.class)) {
+                return (valueSequence) -> (byte) parser.applyAsInt(valueSequence);
+            }
+            if (type.equals(short.class) || type.equals(Short.class)) {
+                return (valueSequence) -> (short) parser.applyAsInt(valueSequence);
+            }
+            return parser::applyAsInt;
+        }
+        if (primitiveParser instanceof ToLongFunction<?>) {
+            ToLongFunction<CharSequence> parser = getLongParser(type);
+            return parser::applyAsLong;
+        }
+        if (type.equals(float.class) || type.equals(Float.class)) {
+            return (valueSequence) -> Float.parseFloat(valueSequence.toString());
+        }
+        if (primitiveParser instanceof ToDoubleFunction<?>) {
+            ToDoubleFunction<CharSequence> parser = getDoubleParser(type);
+            return parser::applyAsDouble;
+        }
+        if (type.equals(String.class)) {
+            return CharSequence::toString;
+        }
+        if (type.isEnum()) {
+            return enumParsers.computeIfAbsent(new EnumKey(type, false), this::computeEnumParser)::parse;
+        }
+        Function<String, ?> parser = get(type);
+        return (valueSequence) -> parser.apply(valueSequence.toString());
+    }
+
+    /**
+     * Parses a character sequence.
+     *
+     * @param type          The type.
+     * @param valueSequence The sequence.
+     * @param <K>           The type.
+     * @return The value, boxed if primitive.
+     * @throws ReflectionException If the type cannot be parsed.
+     */
+    public <K> K parse(Class<K> type, CharSequence valueSequence) {
+        return getSequenceParser(type).apply(valueSequence);
+    }
+
+    /**
+     * Parses a slice of UTF-8 bytes. The primitive types other than
+     * {@code char}, their wrappers, {@link UUID} and the ISO {@code java.time}
+     * types are parsed directly from the bytes, without decoding them.
+     *
+     * @param type   The type.
+     * @param bytes  The bytes.
+     * @param offset The index of the first byte.
+     * @param length The number of bytes.
+     * @param <K>    The type.
+     * @return The value, boxed if primitive.
+     * @throws ReflectionException If the type cannot be parsed.
+     */
+    public <K> K parse(Class<K> type, byte[] bytes, int offset, int length) {
+        if (isAscii(type)) {
+            return parse(type, new AsciiSequence(bytes, offset, length));
+        }
+        return parse(type, new String(bytes, offset, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses the remaining UTF-8 bytes of a buffer, without changing its
+     * position. The primitive types other than {@code char}, their wrappers,
+     * {@link UUID} and the ISO {@code java.time} types are parsed directly
+     * from the buffer, without decoding it.
+     *
+     * @param type   The type.
+     * @param buffer The buffer.
+     * @param <K>    The type.
+     * @return The value, boxed if primitive.
+     * @throws ReflectionException If the type cannot be parsed.
+     */
+    public <K> K parse(Class<K> type, ByteBuffer buffer) {
+        int position = buffer.position();
+        int length = buffer.remaining();
+        if (isAscii(type)) {
+            return parse(type, new AsciiSequence(buffer, position, length));
+        }
+        return parse(type, StandardCharsets.UTF_8.decode(buffer.slice(position, length)));
+    }
+
+    /**
+     * Views a slice of bytes as a character sequence, without copying them,
+     * so it can be given to the primitive parsers. Each byte is a character,
+     * so this is only meaningful for ASCII content.
+     *
+     * @param bytes  The bytes.
+     * @param offset The index of the first byte.
+     * @param length The number of bytes.
+     * @return The view.
+     */
+    public CharSequence view(byte[] bytes, int offset, int length) {
+        return new AsciiSequence(bytes, offset, length);
+    }
+
+    /**
+     * Views the remaining bytes of a buffer as a character sequence, without
+     * copying them, so it can be given to the primitive parsers. Each byte is
+     * a character, so this is only meaningful for ASCII content.
+     *
+     * @param buffer The buffer.
+     * @return The view.
+     */
+    public CharSequence view(ByteBuffer buffer) {
+        return new AsciiSequence(buffer, buffer.position(), buffer.remaining());
+    }
+
+    private boolean isAscii(Class<?> type) {
+        if (isoParsers.containsKey(type)) {
+            return true;
+        }
+        return primitiveParsers.containsKey(type) && !(type.equals(char.class) || type.equals(Character.class));
+    }
+
+    /**
+     * Obtains a parser that returns a primitive {@code boolean}, with the same
+     * rules of {@link Boolean#parseBoolean(String)}.
+     *
+     * @param type Either {@code boolean} or {@link Boolean}.
+     * @return The parser.
+     * @throws ReflectionException If the type is not supported.
+     */
+    public Predicate<CharSequence> getBooleanParser(Class<?> type) {
+        return getPrimitiveParser(type, Predicate.class, "boolean");
+    }
+
+    /**
+     * Obtains a parser that returns a primitive {@code int}. Values of
+     * {@code byte} and {@code short} are checked against the range of their
+     * types, and values of {@code char} must have exactly one character.
+     *
+     * @param type Either {@code byte}, {@code short}, {@code char}, or
+     *             {@code int}, or one of their wrappers.
+     * @return The parser.
+     * @throws ReflectionException If the type is not supported.
+     */
+    public ToIntFunction<CharSequence> getIntParser(Class<?> type) {
+        return getPrimitiveParser(type, ToIntFunction.class, "int");
+    }
+
+    /**
+     * Obtains a parser that returns a primitive {@code long}.
+     *
+     * @param type Either {@code long} or {@link Long}.
+     * @return The parser.
+     * @throws ReflectionException If the type is not supported.
+     */
+    public ToLongFunction<CharSequence> getLongParser(Class<?> type) {
+        return getPrimitiveParser(type, ToLongFunction.class, "long");
+    }
+
+    /**
+     * Obtains a parser that returns a primitive {@code double}. Values of
+     * {@code float} are parsed with the precision of their type.
+     *
+     * @param type Either {@code float} or {@code double}, or one of their
+     *             wrappers.
+     * @return The parser.
+     * @throws ReflectionException If the type is not supported.
+     */
+    public ToDoubleFunction<CharSequence> getDoubleParser(Class<?> type) {
+        return getPrimitiveParser(type, ToDoubleFunction.class, "double");
+    }
+
+    private <P> P getPrimitiveParser(Class<?> type, Class<?> parserType, String primitiveName) {
+        Object parser = primitiveParsers.get(type);
+        if (!parserType.isInstance(parser)) {
+            throw new ReflectionException("Type %s cannot be parsed into %s".formatted(type.getName(), primitiveName));
+        }
+        @SuppressWarnings("unchecked")
+        P primitiveParser = (P) parser;
+        return primitiveParser;
+    }
+
+    /**
+     * Obtains a handle that invokes a method with arguments given as strings.
+     * Each argument is parsed by the parser of its parameter type, folded
+     * into the handle, and primitive parameters are parsed without boxing.
+     *
+     * @param method The method, which must be accessible.
+     * @return The cached handle. Its return type is the method return type,
+     * its parameter types are {@link String}, and if the method is not static
+     * its first parameter type is the declaring class, for the instance.
+     * @throws ReflectionException If a parameter type has no parser.
+     */
+    public MethodHandle getInvoker(Method method) {
+        return invokers.computeIfAbsent(method, this::computeInvoker);
+    }
+
+    private MethodHandle computeInvoker(Method method) {
+        MethodHandle handle = reflector.unreflect(method);
+        int offset = Modifier.isStatic(method.getModifiers()) ? 0 : 1;
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        MethodHandle[] filters = new MethodHandle[parameterTypes.length];
+        for (int i = 0; i < filters.length; i++) {
+            filters[i] = getParserHandle(parameterTypes[i]);
+        }
+        return MethodHandles.filterArguments(handle, offset, filters);
+    }
+
+    private MethodHandle getParserHandle(Class<?> type) {
+        if (type.equals(String.class)) {
+            return null;
+        }
+        MethodHandle handle = primitiveHandles.get(type);
+        if (handle == null) {
+            handle = APPLY.bindTo(get(type)).asType(MethodType.methodType(type, String.class));
+        }
+        return handle;
+    }
+
+    /**
+     * Obtains a case-sensitive enum parser.
+     *
+     * @param type The enum type.
+     * @param <E>  The type.
+     * @return The cached parser.
+     * @throws ReflectionException If two constants share a name or alias.
+     */
+    public <E extends Enum<E>> EnumParser<E> getEnumParser(Class<E> type) {
+        return getEnumParser(type, false);
+    }
+
+    /**
+     * Obtains an enum parser.
+     *
+     * @param type            The enum type.
+     * @param caseInsensitive Whether names are compared ignoring case.
+     * @param <E>             The type.
+     * @return The cached parser.
+     * @throws ReflectionException If two constants share a name or alias.
+     */
+    public <E extends Enum<E>> EnumParser<E> getEnumParser(Class<E> type, boolean caseInsensitive) {
+        @SuppressWarnings("unchecked")
+        EnumParser<E> parser = (EnumParser<E>) enumParsers.computeIfAbsent(new EnumKey(type, caseInsensitive), this::computeEnumParser);
+        return parser;
+    }
+
+    private <E extends Enum<E>> EnumParser<E> computeEnumParser(EnumKey key) {
+        // Every key is built from an enum type, so the cast only names the
+        // type variable hidden by the wildcard.
+        @SuppressWarnings("unchecked")
+        Class<E> type = (Class<E>) key.type();
+        return new EnumParser<>(type, key.caseInsensitive());
+    }
+
     private <K> Function<String, K> compute(Class<K> type) {
+        if (type.isEnum()) {
+            EnumParser<?> enumParser = enumParsers.computeIfAbsent(new EnumKey(type, false), this::computeEnumParser);
+            return (valueString) -> type.cast(enumParser.parse(valueString));
+        }
         String typeName = type.getName();
         Method method;
         try {
@@ -99,10 +492,10 @@ public final class ParserFactory {
             K value = (K) handle.invoke(valueString);
             return value;
         } catch (Throwable throwable) {
-            if (throwable instanceof RuntimeException exception) {
-                throw exception;
-            }
-            throw new AssertionError(throwable);
+            throw Reflector.rethrow(throwable);
         }
     }
+
+    private record EnumKey(Class<?> type, boolean caseInsensitive) {
+    }
 }
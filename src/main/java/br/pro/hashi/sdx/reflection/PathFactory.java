@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides property paths, compiled once per class and path.
+ */
+public final class PathFactory {
+    private final Reflector reflector;
+    private final ModelFactory modelFactory;
+    private final ConcurrentMap<Key, PropertyPath<?>> cache;
+
+    PathFactory(Reflector reflector, ModelFactory modelFactory) {
+        this.reflector = reflector;
+        this.modelFactory = modelFactory;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Obtains a property path that is not null-safe.
+     *
+     * @param type The root class.
+     * @param path The field names, separated by dots.
+     * @param <T>  The root type.
+     * @return The cached path.
+     * @throws ReflectionException If a field does not exist.
+     */
+    public <T> PropertyPath<T> get(Class<T> type, String path) {
+        return get(type, path, false);
+    }
+
+    /**
+     * Obtains a property path.
+     *
+     * @param type     The root class.
+     * @param path     The field names, separated by dots.
+     * @param nullSafe Whether reading through a {@code null} intermediate
+     *                 value should result in {@code null} instead of throwing
+     *                 an exception.
+     * @param <T>      The root type.
+     * @return The cached path.
+     * @throws ReflectionException If a field does not exist.
+     */
+    public <T> PropertyPath<T> get(Class<T> type, String path, boolean nullSafe) {
+        Objects.requireNonNull(type, "Type cannot be null");
+        Objects.requireNonNull(path, "Path cannot be null");
+        PropertyPath<?> propertyPath = cache.computeIfAbsent(new Key(type, path, nullSafe), this::compute);
+        return reflector.uncheckedCast(propertyPath);
+    }
+
+    PathLeaf getLeaf(Class<?> type, String path) {
+        return new PathLeaf(this, modelFactory, type, path);
+    }
+
+    private PropertyPath<?> compute(Key key) {
+        return new PropertyPath<>(reflector, modelFactory, key.type(), key.path(), key.nullSafe());
+    }
+
+    private record Key(Class<?> type, String path, boolean nullSafe) {
+    }
+}
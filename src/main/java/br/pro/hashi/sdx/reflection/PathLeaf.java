@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * Represents the last field of a path, split into a null-safe getter of the
+ * object that owns the field and an exact-typed getter of the field itself,
+ * so primitive values can be read without boxing. Fields of type
+ * {@code byte}, {@code short} and {@code char} are read as {@code int}.
+ */
+final class PathLeaf {
+    enum Kind {
+        OBJECT,
+        BOOLEAN,
+        INT,
+        LONG,
+        FLOAT,
+        DOUBLE
+    }
+
+    private final MethodHandle prefix;
+    private final MethodHandle getter;
+    private final Class<?> ownerType;
+    private final String name;
+    private final Class<?> fieldType;
+    private final Kind kind;
+
+    PathLeaf(PathFactory pathFactory, ModelFactory modelFactory, Class<?> type, String path) {
+        int index = path.lastIndexOf('.');
+        MethodHandle prefix;
+        Class<?> ownerType;
+        if (index == -1) {
+            prefix = null;
+            ownerType = type;
+        } else {
+            PropertyPath<?> prefixPath = pathFactory.get(type, path.substring(0, index), true);
+            prefix = prefixPath.getGetter().asType(MethodType.methodType(Object.class, Object.class));
+            ownerType = prefixPath.getType();
+        }
+        ClassModel<?> model = modelFactory.get(ownerType);
+        int slot = model.getSlot(path.substring(index + 1));
+        Class<?> fieldType = model.getFieldType(slot);
+
+        Kind kind;
+        Class<?> valueType;
+        if (fieldType.equals(boolean.class)) {
+            kind = Kind.BOOLEAN;
+            valueType = boolean.class;
+        } else if (fieldType.equals(byte.class) || fieldType.equals(short.class) || fieldType.equals(char.class) || fieldType.equals(int.class)) {
+            kind = Kind.INT;
+            valueType = int.class;
+        } else if (fieldType.equals(long.class)) {
+            kind = Kind.LONG;
+            valueType = long.class;
+        } else if (fieldType.equals(float.class)) {
+            kind = Kind.FLOAT;
+            valueType = float.class;
+        } else if (fieldType.equals(double.class)) {
+            kind = Kind.DOUBLE;
+            valueType = double.class;
+        } else {
+            kind = Kind.OBJECT;
+            valueType = Object.class;
+        }
+
+        this.prefix = prefix;
+        this.getter = model.getGetter(slot).asType(MethodType.methodType(valueType, Object.class));
+        this.ownerType = ownerType;
+        this.name = model.getName(slot);
+        this.fieldType = fieldType;
+        this.kind = kind;
+    }
+
+    Class<?> getOwnerType() {
+        return ownerType;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Class<?> getFieldType() {
+        return fieldType;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    Object owner(Object row) {
+        if (prefix == null) {
+            return row;
+        }
+        try {
+            return (Object) prefix.invokeExact(row);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    Object getObject(Object row) {
+        Object owner = owner(row);
+        if (owner == null) {
+            return null;
+        }
+        return get(owner);
+    }
+
+    Object get(Object owner) {
+        try {
+            return (Object) getter.invokeExact(owner);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    boolean getBoolean(Object owner) {
+        try {
+            return (boolean) getter.invokeExact(owner);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    int getInt(Object owner) {
+        try {
+            return (int) getter.invokeExact(owner);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    long getLong(Object owner) {
+        try {
+            return (long) getter.invokeExact(owner);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    float getFloat(Object owner) {
+        try {
+            return (float) getter.invokeExact(owner);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    double getDouble(Object owner) {
+        try {
+            return (double) getter.invokeExact(owner);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+}
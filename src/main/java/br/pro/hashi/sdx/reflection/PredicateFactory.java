@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * Provides predicates that evaluate criteria, compiled once per class and
+ * criterion.
+ * </p>
+ * <p>
+ * Constants are parsed when the predicate is compiled, and primitive fields
+ * are read by exact-typed getters, so evaluating a predicate does not box or
+ * allocate. A {@code null} value, or a {@code null} intermediate object, does
+ * not satisfy any comparison or membership test.
+ * </p>
+ */
+public final class PredicateFactory {
+    private final Reflector reflector;
+    private final PathFactory pathFactory;
+    private final ParserFactory parserFactory;
+    private final ConcurrentMap<Key, Predicate<?>> cache;
+
+    PredicateFactory(Reflector reflector, PathFactory pathFactory, ParserFactory parserFactory) {
+        this.reflector = reflector;
+        this.pathFactory = pathFactory;
+        this.parserFactory = parserFactory;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Obtains a predicate.
+     *
+     * @param type      The class.
+     * @param criterion The criterion.
+     * @param <T>       The type.
+     * @return The cached predicate.
+     * @throws ReflectionException      If a path does not exist, a constant
+     *                                  cannot be parsed into its type, or an
+     *                                  ordering is applied to a type that is
+     *                                  not primitive or comparable.
+     * @throws IllegalArgumentException If a constant is not valid for its
+     *                                  type.
+     */
+    public <T> Predicate<T> get(Class<T> type, Criterion criterion) {
+        Objects.requireNonNull(type, "Type cannot be null");
+        Objects.requireNonNull(criterion, "Criterion cannot be null");
+        Predicate<?> predicate = cache.computeIfAbsent(new Key(type, criterion), (key) -> compile(key.type(), key.criterion()));
+        return reflector.uncheckedCast(predicate);
+    }
+
+    private Predicate<Object> compile(Class<?> type, Criterion criterion) {
+        return switch (criterion) {
+            case Criterion.Comparison comparison -> compileComparison(type, comparison);
+            case Criterion.In in -> compileIn(type, in);
+            case Criterion.And and -> compileAnd(compileAll(type, and.criteria()));
+            case Criterion.Or or -> compileOr(compileAll(type, or.criteria()));
+            case Criterion.Not not -> compile(type, not.criterion()).negate();
+        };
+    }
+
+    private Predicate<Object>[] compileAll(Class<?> type, List<Criterion> criteria) {
+        Predicate<Object>[] predicates = reflector.uncheckedCast(new Predicate<?>[criteria.size()]);
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = compile(type, criteria.get(i));
+        }
+        return predicates;
+    }
+
+    private Predicate<Object> compileAnd(Predicate<Object>[] predicates) {
+        return switch (predicates.length) {
+            case 0 -> (row) -> true;
+            case 1 -> predicates[0];
+            case 2 -> predicates[0].and(predicates[1]);
+            default -> (row) -> {
+                for (Predicate<Object> predicate : predicates) {
+                    if (!predicate.test(row)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        };
+    }
+
+    private Predicate<Object> compileOr(Predicate<Object>[] predicates) {
+        return switch (predicates.length) {
+            case 0 -> (row) -> false;
+            case 1 -> predicates[0];
+            case 2 -> predicates[0].or(predicates[1]);
+            default -> (row) -> {
+                for (Predicate<Object> predicate : predicates) {
+                    if (predicate.test(row)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        };
+    }
+
+    private Predicate<Object> compileComparison(Class<?> type, Criterion.Comparison comparison) {
+        PathLeaf leaf = pathFactory.getLeaf(type, comparison.path());
+        Criterion.Operator operator = comparison.operator();
+        IntPredicate test = switch (operator) {
+            case EQ -> (result) -> result == 0;
+            case NE -> (result) -> result != 0;
+            case LT -> (result) -> result < 0;
+            case LE -> (result) -> result <= 0;
+            case GT -> (result) -> result > 0;
+            case GE -> (result) -> result >= 0;
+        };
+        Object constant = parserFactory.get(leaf.getFieldType()).apply(comparison.value());
+        switch (leaf.getKind()) {
+            case BOOLEAN -> {
+                boolean value = (boolean) constant;
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && test.test(Boolean.compare(leaf.getBoolean(owner), value));
+                };
+            }
+            case INT -> {
+                int value = toInt(constant);
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && test.test(Integer.compare(leaf.getInt(owner), value));
+                };
+            }
+            case LONG -> {
+                long value = (long) constant;
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && test.test(Long.compare(leaf.getLong(owner), value));
+                };
+            }
+            case FLOAT -> {
+                float value = (float) constant;
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && test.test(Float.compare(leaf.getFloat(owner), value));
+                };
+            }
+            case DOUBLE -> {
+                double value = (double) constant;
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && test.test(Double.compare(leaf.getDouble(owner), value));
+                };
+            }
+            default -> {
+                if (operator == Criterion.Operator.EQ || operator == Criterion.Operator.NE) {
+                    boolean expected = operator == Criterion.Operator.EQ;
+                    return (row) -> {
+                        Object value = leaf.getObject(row);
+                        return value != null && value.equals(constant) == expected;
+                    };
+                }
+                if (!Comparable.class.isAssignableFrom(leaf.getFieldType())) {
+                    throw new ReflectionException("Path %s of class %s must end in a primitive or comparable field".formatted(comparison.path(), type.getName()));
+                }
+                Object value = constant;
+                return (row) -> {
+                    Object other = leaf.getObject(row);
+                    return other != null && test.test(reflector.<Comparable<Object>>uncheckedCast(other).compareTo(value));
+                };
+            }
+        }
+    }
+
+    private Predicate<Object> compileIn(Class<?> type, Criterion.In in) {
+        PathLeaf leaf = pathFactory.getLeaf(type, in.path());
+        Function<String, ?> parser = parserFactory.get(leaf.getFieldType());
+        List<String> valueStrings = in.values();
+        int size = valueStrings.size();
+        switch (leaf.getKind()) {
+            case BOOLEAN -> {
+                boolean acceptsTrue = false;
+                boolean acceptsFalse = false;
+                for (String valueString : valueStrings) {
+                    if ((boolean) parser.apply(valueString)) {
+                        acceptsTrue = true;
+                    } else {
+                        acceptsFalse = true;
+                    }
+                }
+                boolean hasTrue = acceptsTrue;
+                boolean hasFalse = acceptsFalse;
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && (leaf.getBoolean(owner) ? hasTrue : hasFalse);
+                };
+            }
+            case INT -> {
+                int[] values = new int[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = toInt(parser.apply(valueStrings.get(i)));
+                }
+                Arrays.sort(values);
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && Arrays.binarySearch(values, leaf.getInt(owner)) >= 0;
+                };
+            }
+            case LONG -> {
+                long[] values = new long[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = (long) parser.apply(valueStrings.get(i));
+                }
+                Arrays.sort(values);
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && Arrays.binarySearch(values, leaf.getLong(owner)) >= 0;
+                };
+            }
+            case FLOAT -> {
+                float[] values = new float[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = (float) parser.apply(valueStrings.get(i));
+                }
+                Arrays.sort(values);
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && Arrays.binarySearch(values, leaf.getFloat(owner)) >= 0;
+                };
+            }
+            case DOUBLE -> {
+                double[] values = new double[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = (double) parser.apply(valueStrings.get(i));
+                }
+                Arrays.sort(values);
+                return (row) -> {
+                    Object owner = leaf.owner(row);
+                    return owner != null && Arrays.binarySearch(values, leaf.getDouble(owner)) >= 0;
+                };
+            }
+            default -> {
+                Set<Object> values = new HashSet<>();
+                for (String valueString : valueStrings) {
+                    values.add(parser.apply(valueString));
+                }
+                return (row) -> {
+                    Object value = leaf.getObject(row);
+                    return value != null && values.contains(value);
+                };
+            }
+        }
+    }
+
+    private int toInt(Object constant) {
+        if (constant instanceof Character character) {
+            return character;
+        }
+        return ((Number) constant).intValue();
+    }
+
+    private record Key(Class<?> type, Criterion criterion) {
+    }
+}
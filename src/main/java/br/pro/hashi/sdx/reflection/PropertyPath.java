@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Represents a chain of fields, such as {@code "a.b.c"}, starting from a root
+ * class.
+ * </p>
+ * <p>
+ * The path is resolved once against the class models, and its getters are
+ * folded into a single handle. If the path is null-safe, a {@code null}
+ * anywhere along the chain short-circuits to a {@code null} result, and a
+ * primitive result is boxed.
+ * </p>
+ *
+ * @param <T> The root type.
+ */
+public final class PropertyPath<T> {
+    private static final Pattern DOT_PATTERN = Pattern.compile("\\.");
+    private static final MethodHandle IS_NULL;
+
+    static {
+        try {
+            IS_NULL = MethodHandles.lookup().findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    private final Reflector reflector;
+    private final Class<T> rootType;
+    private final String path;
+    private final boolean nullSafe;
+    private final Class<?> type;
+    private final MethodHandle getter;
+    private final MethodHandle genericGetter;
+    private final String[] names;
+    private final Class<?>[] types;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    private final ObjectInstantiator<?>[] instantiators;
+
+    PropertyPath(Reflector reflector, ModelFactory modelFactory, Class<T> rootType, String path, boolean nullSafe) {
+        String[] names = DOT_PATTERN.split(path, -1);
+        int length = names.length;
+        Class<?>[] types = new Class<?>[length];
+        MethodHandle[] getters = new MethodHandle[length];
+        MethodHandle[] setters = new MethodHandle[length];
+
+        Class<?> current = rootType;
+        MethodHandle getter = null;
+        for (int i = 0; i < length; i++) {
+            String name = names[i];
+            if (name.isEmpty()) {
+                throw new ReflectionException("Path %s of class %s cannot have empty names".formatted(path, rootType.getName()));
+            }
+            ClassModel<?> model = modelFactory.get(current);
+            int slot = model.getSlot(name);
+            Class<?> fieldType = model.getFieldType(slot);
+
+            MethodHandle step = model.getGetter(slot).asType(MethodType.methodType(fieldType, current));
+            if (nullSafe) {
+                MethodType stepType = step.type().wrap();
+                step = MethodHandles.guardWithTest(
+                        IS_NULL.asType(MethodType.methodType(boolean.class, current)),
+                        MethodHandles.empty(stepType),
+                        step.asType(stepType));
+            }
+            getter = getter == null ? step : MethodHandles.filterReturnValue(getter, step);
+
+            types[i] = fieldType;
+            getters[i] = model.getGetter(slot).asType(MethodType.methodType(Object.class, Object.class));
+            MethodHandle setter = model.getSetter(slot);
+            if (setter != null) {
+                setters[i] = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+            current = fieldType;
+        }
+
+        this.reflector = reflector;
+        this.rootType = rootType;
+        this.path = path;
+        this.nullSafe = nullSafe;
+        this.type = current;
+        this.getter = getter;
+        this.genericGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        this.names = names;
+        this.types = types;
+        this.getters = getters;
+        this.setters = setters;
+        this.instantiators = new ObjectInstantiator<?>[length];
+    }
+
+    /**
+     * Obtains the root class.
+     *
+     * @return The class.
+     */
+    public Class<T> getRootType() {
+        return rootType;
+    }
+
+    /**
+     * Obtains the path.
+     *
+     * @return The field names, separated by dots.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Indicates whether this path is null-safe.
+     *
+     * @return {@code true} if a {@code null} along the chain results in
+     * {@code null}.
+     */
+    public boolean isNullSafe() {
+        return nullSafe;
+    }
+
+    /**
+     * Obtains the type of the last field.
+     *
+     * @return The erased type.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Obtains the folded getter.
+     *
+     * @return A handle that receives the root type and returns the type of the
+     * last field, boxed if primitive and null-safe.
+     */
+    public MethodHandle getGetter() {
+        return getter;
+    }
+
+    /**
+     * Reads the value at the end of the path.
+     *
+     * @param instance The root object.
+     * @param <F>      The field type.
+     * @return The value, boxed if primitive.
+     */
+    public <F> F get(T instance) {
+        Object value;
+        try {
+            value = (Object) genericGetter.invokeExact((Object) instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+        return reflector.uncheckedCast(value);
+    }
+
+    /**
+     * Writes the value at the end of the path, creating the intermediate
+     * objects that are {@code null}.
+     *
+     * @param instance The root object.
+     * @param value    The value, boxed if primitive.
+     * @throws ReflectionException If an intermediate object cannot be created
+     *                             or a field cannot be written.
+     */
+    public void set(T instance, Object value) {
+        Object current = instance;
+        int last = names.length - 1;
+        try {
+            for (int i = 0; i < last; i++) {
+                Object next = (Object) getters[i].invokeExact(current);
+                if (next == null) {
+                    next = getInstantiator(i).newInstance();
+                    getSetter(i).invokeExact(current, next);
+                }
+                current = next;
+            }
+            getSetter(last).invokeExact(current, value);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    private ObjectInstantiator<?> getInstantiator(int index) {
+        ObjectInstantiator<?> instantiator = instantiators[index];
+        if (instantiator == null) {
+            Class<?> fieldType = types[index];
+            instantiator = reflector.getInstantiator(fieldType, fieldType.getName());
+            instantiators[index] = instantiator;
+        }
+        return instantiator;
+    }
+
+    private MethodHandle getSetter(int index) {
+        MethodHandle setter = setters[index];
+        if (setter == null) {
+            throw new ReflectionException("Field %s of path %s cannot be written".formatted(names[index], path));
+        }
+        return setter;
+    }
+}
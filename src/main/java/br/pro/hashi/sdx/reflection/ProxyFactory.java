@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Provides proxies that implement an interface by delegating each of its
+ * methods to the method of a target object with the same name and compatible
+ * parameters. Type variables of the interface are resolved through its
+ * generic superinterfaces, so a method inherited from {@code Repository<E>}
+ * by an interface that extends {@code Repository<Entity>} is delegated to a
+ * method that receives an {@code Entity}.
+ * </p>
+ * <p>
+ * The target methods are resolved and adapted once per interface and target
+ * class. A functional interface is implemented through the {@link Binder}, so
+ * a call does not involve any reflection object. Other interfaces are
+ * implemented by a hidden class, written by the {@link ProxyWriter}, that
+ * calls each handle as a constant. Default methods are inherited as declared,
+ * {@code toString} is delegated to the target, and {@code equals} and
+ * {@code hashCode} are based on the identity of the proxy.
+ * </p>
+ * <p>
+ * The hidden class of a public interface is defined in this package. The
+ * hidden class of any other interface is defined in the package of the
+ * interface, through the lookup of the {@link Reflector}, which must then be
+ * in the same module as the interface.
+ * </p>
+ */
+public final class ProxyFactory {
+    private final Reflector reflector;
+    private final ModelFactory modelFactory;
+    private final Binder binder;
+    private final ConcurrentMap<Key, Dispatch> cache;
+
+    ProxyFactory(Reflector reflector, ModelFactory modelFactory, Binder binder) {
+        this.reflector = reflector;
+        this.modelFactory = modelFactory;
+        this.binder = binder;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a proxy.
+     *
+     * @param interfaceType The interface.
+     * @param target        The target object.
+     * @param <T>           The interface type.
+     * @return The proxy.
+     * @throws ReflectionException If the type is not an interface, the
+     *                             class of the target does not have a
+     *                             compatible method for each abstract method,
+     *                             or the interface is not public and not in
+     *                             the module of the lookup.
+     */
+    public <T> T create(Class<T> interfaceType, Object target) {
+        Objects.requireNonNull(interfaceType, "Interface type cannot be null");
+        Objects.requireNonNull(target, "Target cannot be null");
+        Dispatch dispatch = cache.computeIfAbsent(new Key(interfaceType, target.getClass()), this::compute);
+        if (dispatch.method() != null) {
+            return binder.bind(dispatch.method(), interfaceType, target);
+        }
+        Object proxy;
+        try {
+            proxy = (Object) dispatch.constructor().invokeExact(target);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+        return interfaceType.cast(proxy);
+    }
+
+    private Dispatch compute(Key key) {
+        Class<?> interfaceType = key.interfaceType();
+        Class<?> targetType = key.targetType();
+        if (!interfaceType.isInterface()) {
+            throw new ReflectionException("Type %s must be an interface".formatted(interfaceType.getName()));
+        }
+        MethodIndex<?> index = modelFactory.getMethodIndex(targetType);
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        bind(interfaceType, bindings);
+
+        Method abstractMethod;
+        try {
+            abstractMethod = binder.getAbstractMethod(interfaceType);
+        } catch (ReflectionException exception) {
+            abstractMethod = null;
+        }
+        if (abstractMethod != null) {
+            Method method = index.find(abstractMethod.getName(), resolve(abstractMethod, bindings));
+            if (!Modifier.isStatic(method.getModifiers())) {
+                return new Dispatch(method, null);
+            }
+        }
+
+        Map<List<Object>, Method> interfaceMethods = new LinkedHashMap<>();
+        for (Method interfaceMethod : interfaceType.getMethods()) {
+            if (Modifier.isAbstract(interfaceMethod.getModifiers()) && !binder.isObjectMethod(interfaceMethod)) {
+                interfaceMethods.putIfAbsent(List.of(interfaceMethod.getName(), interfaceMethod.getReturnType(), List.of(interfaceMethod.getParameterTypes())), interfaceMethod);
+            }
+        }
+        List<Method> methods = new ArrayList<>(interfaceMethods.values());
+        List<MethodHandle> handles = new ArrayList<>(methods.size());
+        for (Method interfaceMethod : methods) {
+            Method method = index.find(interfaceMethod.getName(), resolve(interfaceMethod, bindings));
+            handles.add(adapt(interfaceMethod, method, targetType));
+        }
+        return new Dispatch(null, define(interfaceType, methods, handles));
+    }
+
+    private void bind(Class<?> type, Map<TypeVariable<?>, Type> bindings) {
+        for (Type genericInterface : type.getGenericInterfaces()) {
+            if (genericInterface instanceof ParameterizedType parameterizedType) {
+                Class<?> rawType = (Class<?>) parameterizedType.getRawType();
+                TypeVariable<?>[] typeVariables = rawType.getTypeParameters();
+                Type[] arguments = parameterizedType.getActualTypeArguments();
+                for (int i = 0; i < typeVariables.length; i++) {
+                    bindings.putIfAbsent(typeVariables[i], bindings.getOrDefault(arguments[i], arguments[i]));
+                }
+                bind(rawType, bindings);
+            } else {
+                bind((Class<?>) genericInterface, bindings);
+            }
+        }
+    }
+
+    private Class<?>[] resolve(Method method, Map<TypeVariable<?>, Type> bindings) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Type[] genericTypes = method.getGenericParameterTypes();
+        if (genericTypes.length != parameterTypes.length) {
+            return parameterTypes;
+        }
+        Class<?>[] resolvedTypes = new Class<?>[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Type type = bindings.getOrDefault(genericTypes[i], genericTypes[i]);
+            if (type instanceof ParameterizedType parameterizedType) {
+                type = parameterizedType.getRawType();
+            }
+            resolvedTypes[i] = type instanceof Class<?> resolvedType ? resolvedType : parameterTypes[i];
+        }
+        return resolvedTypes;
+    }
+
+    private MethodHandle adapt(Method interfaceMethod, Method method, Class<?> targetType) {
+        MethodHandle handle = reflector.unreflect(method);
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, targetType);
+        }
+        MethodType type = MethodType.methodType(interfaceMethod.getReturnType(), interfaceMethod.getParameterTypes());
+        try {
+            handle = handle.asType(type.insertParameterTypes(0, targetType));
+        } catch (WrongMethodTypeException exception) {
+            throw new ReflectionException("Method %s of class %s must return %s".formatted(method.getName(), targetType.getName(), interfaceMethod.getReturnType().getName()));
+        }
+        return handle.asType(type.insertParameterTypes(0, Object.class));
+    }
+
+    private MethodHandle define(Class<?> interfaceType, List<Method> methods, List<MethodHandle> handles) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Module module = ProxyFactory.class.getModule();
+        module.addReads(interfaceType.getModule());
+        for (Method method : methods) {
+            module.addReads(method.getReturnType().getModule());
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                module.addReads(parameterType.getModule());
+            }
+        }
+        if (!reflector.isPublic(interfaceType)) {
+            try {
+                lookup = MethodHandles.privateLookupIn(interfaceType, reflector.getLookup());
+            } catch (IllegalAccessException exception) {
+                lookup = null;
+            }
+        }
+        if (lookup == null || !lookup.hasFullPrivilegeAccess()) {
+            throw new ReflectionException("Type %s must be public or in the module of the lookup".formatted(interfaceType.getName()));
+        }
+        String name = "%s.%s$Proxy".formatted(lookup.lookupClass().getPackageName(), interfaceType.getSimpleName());
+        byte[] bytes = new ProxyWriter().write(name, interfaceType, methods);
+        try {
+            MethodHandles.Lookup proxyLookup = lookup.defineHiddenClassWithClassData(bytes, List.copyOf(handles), true);
+            return proxyLookup.findConstructor(proxyLookup.lookupClass(), MethodType.methodType(void.class, Object.class))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | NoSuchMethodException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    private record Key(Class<?> interfaceType, Class<?> targetType) {
+    }
+
+    private record Dispatch(Method method, MethodHandle constructor) {
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Writes the bytes of a class that implements an interface by delegating each
+ * of the given methods to a handle, with the target object stored in a final
+ * field received by the only constructor.
+ * </p>
+ * <p>
+ * The class is meant to be defined as a hidden class whose class data is the
+ * list of handles, in the order of the methods. Each handle is loaded by a
+ * dynamic constant, so the JIT compiler sees it as a constant and can inline
+ * it, and must have the type of the method with an {@link Object} inserted as
+ * the first parameter. The {@code toString} method is delegated to the target,
+ * while {@code equals} and {@code hashCode} are inherited from {@link Object}.
+ * </p>
+ */
+final class ProxyWriter {
+    private static final int VERSION = 65;
+    private static final String OBJECT = "java/lang/Object";
+    private static final String HANDLE = "java/lang/invoke/MethodHandle";
+    private static final String TARGET = "target";
+
+    private final ConstantPool pool;
+    private final List<Integer> bootstrapArguments;
+
+    ProxyWriter() {
+        this.pool = new ConstantPool();
+        this.bootstrapArguments = new ArrayList<>();
+    }
+
+    /**
+     * Writes the class. An instance must be used only once.
+     *
+     * @param name          The binary name, which must be in the package of
+     *                      the lookup that defines the class.
+     * @param interfaceType The interface.
+     * @param methods       The methods.
+     * @return The bytes.
+     */
+    byte[] write(String name, Class<?> interfaceType, List<Method> methods) {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(body);
+            output.writeShort(0x0031); // public final super
+            output.writeShort(pool.classRef(name.replace('.', '/')));
+            output.writeShort(pool.classRef(OBJECT));
+            output.writeShort(1);
+            output.writeShort(pool.classRef(internalName(interfaceType)));
+
+            output.writeShort(1);
+            output.writeShort(0x0012); // private final
+            output.writeShort(pool.utf8(TARGET));
+            output.writeShort(pool.utf8("L%s;".formatted(OBJECT)));
+            output.writeShort(0);
+
+            output.writeShort(methods.size() + 2);
+            writeConstructor(output, name);
+            writeToString(output, name);
+            for (int i = 0; i < methods.size(); i++) {
+                writeMethod(output, name, methods.get(i), i);
+            }
+
+            int bootstrap = pool.methodHandle(6, "java/lang/invoke/MethodHandles", "classDataAt", "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;I)Ljava/lang/Object;");
+            int attributeName = pool.utf8("BootstrapMethods");
+            output.writeShort(1);
+            output.writeShort(attributeName);
+            output.writeInt(2 + 6 * bootstrapArguments.size());
+            output.writeShort(bootstrapArguments.size());
+            for (int argument : bootstrapArguments) {
+                output.writeShort(bootstrap);
+                output.writeShort(1);
+                output.writeShort(argument);
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            pool.writeHeader(bytes, VERSION);
+            body.writeTo(bytes);
+            return bytes.toByteArray();
+        } catch (IOException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+
+    private void writeConstructor(DataOutputStream output, String name) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        DataOutputStream instructions = new DataOutputStream(code);
+        instructions.writeByte(0x2a); // aload_0
+        instructions.writeByte(0xb7); // invokespecial
+        instructions.writeShort(pool.methodRef(OBJECT, "<init>", "()V"));
+        instructions.writeByte(0x2a); // aload_0
+        instructions.writeByte(0x2b); // aload_1
+        instructions.writeByte(0xb5); // putfield
+        instructions.writeShort(targetRef(name));
+        instructions.writeByte(0xb1); // return
+        pool.writeMethod(output, 0x0001, "<init>", "(L%s;)V".formatted(OBJECT), 2, 2, code);
+    }
+
+    private void writeToString(DataOutputStream output, String name) throws IOException {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        DataOutputStream instructions = new DataOutputStream(code);
+        instructions.writeByte(0x2a); // aload_0
+        instructions.writeByte(0xb4); // getfield
+        instructions.writeShort(targetRef(name));
+        instructions.writeByte(0xb6); // invokevirtual
+        instructions.writeShort(pool.methodRef(OBJECT, "toString", "()Ljava/lang/String;"));
+        instructions.writeByte(0xb0); // areturn
+        pool.writeMethod(output, 0x0001, "toString", "()Ljava/lang/String;", 1, 1, code);
+    }
+
+    private void writeMethod(DataOutputStream output, String name, Method method, int index) throws IOException {
+        MethodType type = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        DataOutputStream instructions = new DataOutputStream(code);
+        instructions.writeByte(0x13); // ldc_w
+        instructions.writeShort(handleConstant(index));
+        instructions.writeByte(0x2a); // aload_0
+        instructions.writeByte(0xb4); // getfield
+        instructions.writeShort(targetRef(name));
+        int slot = 1;
+        for (Class<?> parameterType : type.parameterArray()) {
+            instructions.writeByte(0x15 + kind(parameterType)); // iload, lload, fload, dload or aload
+            instructions.writeByte(slot);
+            slot += size(parameterType);
+        }
+        instructions.writeByte(0xb6); // invokevirtual
+        instructions.writeShort(pool.methodRef(HANDLE, "invokeExact", type.insertParameterTypes(0, Object.class).toMethodDescriptorString()));
+        Class<?> returnType = type.returnType();
+        instructions.writeByte(returnType == void.class ? 0xb1 : 0xac + kind(returnType)); // return or ireturn, lreturn, freturn, dreturn, areturn
+        int maxStack = Math.max(slot + 1, size(returnType));
+        pool.writeMethod(output, 0x0011, method.getName(), type.toMethodDescriptorString(), maxStack, slot, code);
+    }
+
+    private int kind(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return 4;
+        }
+        if (type == long.class) {
+            return 1;
+        }
+        if (type == float.class) {
+            return 2;
+        }
+        if (type == double.class) {
+            return 3;
+        }
+        return 0;
+    }
+
+    private int size(Class<?> type) {
+        if (type == void.class) {
+            return 0;
+        }
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    private String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private int handleConstant(int index) throws IOException {
+        int bootstrapIndex = bootstrapArguments.size();
+        bootstrapArguments.add(pool.integer(index));
+        return pool.dynamic(bootstrapIndex, "_", "L%s;".formatted(HANDLE));
+    }
+
+    private int targetRef(String name) throws IOException {
+        return pool.fieldRef(name.replace('.', '/'), TARGET, "L%s;".formatted(OBJECT));
+    }
+}
@@ -37,6 +37,15 @@ public final class Reflection {
         return INSTANCE.parserFactory;
     }
 
+    /**
+     * Obtains the bulk parser.
+     *
+     * @return The current parser.
+     */
+    public static BulkParser getBulkParser() {
+        return INSTANCE.bulkParser;
+    }
+
     /**
      * Obtains the converter factory.
      *
@@ -46,6 +55,78 @@ public final class Reflection {
         return INSTANCE.converterFactory;
     }
 
+    /**
+     * Obtains the model factory.
+     *
+     * @return The current factory.
+     */
+    public static ModelFactory getModelFactory() {
+        return INSTANCE.modelFactory;
+    }
+
+    /**
+     * Obtains the copier.
+     *
+     * @return The current copier.
+     */
+    public static Copier getCopier() {
+        return INSTANCE.copier;
+    }
+
+    /**
+     * Obtains the path factory.
+     *
+     * @return The current factory.
+     */
+    public static PathFactory getPathFactory() {
+        return INSTANCE.pathFactory;
+    }
+
+    /**
+     * Obtains the comparator factory.
+     *
+     * @return The current factory.
+     */
+    public static ComparatorFactory getComparatorFactory() {
+        return INSTANCE.comparatorFactory;
+    }
+
+    /**
+     * Obtains the predicate factory.
+     *
+     * @return The current factory.
+     */
+    public static PredicateFactory getPredicateFactory() {
+        return INSTANCE.predicateFactory;
+    }
+
+    /**
+     * Obtains the graph walker.
+     *
+     * @return The current walker.
+     */
+    public static GraphWalker getGraphWalker() {
+        return INSTANCE.graphWalker;
+    }
+
+    /**
+     * Obtains the binder.
+     *
+     * @return The current binder.
+     */
+    public static Binder getBinder() {
+        return INSTANCE.binder;
+    }
+
+    /**
+     * Obtains the proxy factory.
+     *
+     * @return The current factory.
+     */
+    public static ProxyFactory getProxyFactory() {
+        return INSTANCE.proxyFactory;
+    }
+
     /**
      * Replaces the class loader.
      *
@@ -68,13 +149,35 @@ public final class Reflection {
 
     private final Reflector reflector;
     private final ParserFactory parserFactory;
+    private final BulkParser bulkParser;
     private final ConverterFactory converterFactory;
+    private final ModelFactory modelFactory;
+    private final Copier copier;
+    private final PathFactory pathFactory;
+    private final ComparatorFactory comparatorFactory;
+    private final PredicateFactory predicateFactory;
+    private final GraphWalker graphWalker;
+    private final Binder binder;
+    private final ProxyFactory proxyFactory;
 
     private Reflection() {
         Reflector reflector = new Reflector();
+        ModelFactory modelFactory = new ModelFactory(reflector);
+        ParserFactory parserFactory = new ParserFactory(reflector);
+        PathFactory pathFactory = new PathFactory(reflector, modelFactory);
+        Binder binder = new Binder(reflector);
 
         this.reflector = reflector;
-        this.parserFactory = new ParserFactory(reflector);
+        this.parserFactory = parserFactory;
+        this.bulkParser = new BulkParser(parserFactory);
         this.converterFactory = new ConverterFactory(reflector);
+        this.modelFactory = modelFactory;
+        this.copier = new Copier(reflector, modelFactory);
+        this.pathFactory = pathFactory;
+        this.comparatorFactory = new ComparatorFactory(reflector, pathFactory);
+        this.predicateFactory = new PredicateFactory(reflector, pathFactory, parserFactory);
+        this.graphWalker = new GraphWalker(modelFactory);
+        this.binder = binder;
+        this.proxyFactory = new ProxyFactory(reflector, modelFactory, binder);
     }
 }
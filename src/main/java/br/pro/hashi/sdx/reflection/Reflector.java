@@ -21,6 +21,8 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.*;
 import java.net.URL;
 import java.util.*;
@@ -35,16 +37,28 @@ public final class Reflector {
     private static final Pattern SLASH_PATTERN = Pattern.compile("/");
     private static final Pattern DOT_PATTERN = Pattern.compile("\\.");
     private static final Objenesis OBJENESIS = new ObjenesisStd();
+    private static final int MAX_ARITY = 254;
+    private static final int ADAPTATION_LIMIT = 1024;
+    private static final int METHOD = 0;
+    private static final int CONSTRUCTOR = 1;
+    private static final int GETTER = 2;
+    private static final int SETTER = 3;
 
     private ClassLoader loader;
     private MethodHandles.Lookup lookup;
     private final ConcurrentMap<Class<?>, ObjectInstantiator<?>> cache;
+    private final MethodHandle[] spreadInvokers;
+    private final Adaptation[] adaptations;
+    private final ConcurrentMap<Unreflection, MethodHandle> handles;
     private final Logger logger;
 
     Reflector() {
         this.loader = ClassLoader.getSystemClassLoader();
         this.lookup = MethodHandles.lookup();
         this.cache = new ConcurrentHashMap<>();
+        this.spreadInvokers = new MethodHandle[MAX_ARITY];
+        this.adaptations = new Adaptation[ADAPTATION_LIMIT];
+        this.handles = new ConcurrentHashMap<>();
         this.logger = LoggerFactory.getLogger(Reflector.class);
     }
 
@@ -52,8 +66,13 @@ public final class Reflector {
         this.loader = loader;
     }
 
+    MethodHandles.Lookup getLookup() {
+        return lookup;
+    }
+
     void setLookup(MethodHandles.Lookup lookup) {
         this.lookup = lookup;
+        handles.clear();
     }
 
     /**
@@ -99,13 +118,7 @@ public final class Reflector {
     }
 
     MethodHandle unreflectConstructor(Constructor<?> constructor) {
-        MethodHandle creator;
-        try {
-            creator = lookup.unreflectConstructor(constructor);
-        } catch (IllegalAccessException exception) {
-            throw new AssertionError(exception);
-        }
-        return creator;
+        return unreflect(CONSTRUCTOR, constructor);
     }
 
     /**
@@ -115,13 +128,7 @@ public final class Reflector {
      * @return Stub.
      */
     public MethodHandle unreflectGetter(Field field) {
-        MethodHandle getter;
-        try {
-            getter = lookup.unreflectGetter(field);
-        } catch (IllegalAccessException exception) {
-            throw new AssertionError(exception);
-        }
-        return getter;
+        return unreflect(GETTER, field);
     }
 
     /**
@@ -131,13 +138,65 @@ public final class Reflector {
      * @return Stub.
      */
     public MethodHandle unreflectSetter(Field field) {
-        MethodHandle setter;
+        return unreflect(SETTER, field);
+    }
+
+    /**
+     * Produces a variable handle for a field, through the current lookup. If
+     * the field is not public, the lookup is teleported to its declaring class,
+     * so the package of this class must be open to the lookup module.
+     *
+     * @param field The field.
+     * @return The handle.
+     */
+    public VarHandle unreflectVarHandle(Field field) {
+        VarHandle handle;
         try {
-            setter = lookup.unreflectSetter(field);
+            MethodHandles.Lookup lookup = this.lookup;
+            if (!(Modifier.isPublic(field.getModifiers()) && isPublic(field.getDeclaringClass()))) {
+                lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), lookup);
+            }
+            handle = lookup.unreflectVarHandle(field);
         } catch (IllegalAccessException exception) {
             throw new AssertionError(exception);
         }
-        return setter;
+        return handle;
+    }
+
+    /**
+     * Checks whether the instance fields of a class can be made accessible,
+     * that is, whether the package of each class in its hierarchy that
+     * declares instance fields is open to this module.
+     *
+     * @param type The class.
+     * @return {@code true} if all instance fields can be made accessible.
+     */
+    static boolean isOpen(Class<?> type) {
+        Module module = Reflector.class.getModule();
+        for (Class<?> current = type; current != null && !current.equals(Object.class); current = current.getSuperclass()) {
+            if (!current.getModule().isOpen(current.getPackageName(), module) && hasInstanceFields(current)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasInstanceFields(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isPublic(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -147,13 +206,7 @@ public final class Reflector {
      * @return Stub.
      */
     public MethodHandle unreflect(Method method) {
-        MethodHandle handle;
-        try {
-            handle = lookup.unreflect(method);
-        } catch (IllegalAccessException exception) {
-            throw new AssertionError(exception);
-        }
-        return handle;
+        return unreflect(METHOD, method);
     }
 
     /**
@@ -245,6 +298,191 @@ public final class Reflector {
         return uncheckedCast(value);
     }
 
+    /**
+     * Invokes a handle, spreading an array into the arguments besides the
+     * instance. Unlike {@link #invokeWithArguments(MethodHandle, Object, Object...)},
+     * which passes the array as a single argument, each element is an argument.
+     * The handle is adapted to a generic type, cached per handle and number of
+     * arguments, and run by a spread invoker that is cached per number of
+     * arguments.
+     *
+     * @param handle   The handle.
+     * @param instance The instance.
+     * @param args     The arguments.
+     * @param <R>      The return type.
+     * @return The result, boxed if primitive.
+     */
+    public <R> R invokeSpread(MethodHandle handle, Object instance, Object... args) {
+        int arity = args.length;
+        Object value;
+        try {
+            value = (Object) getSpreadInvoker(arity).invokeExact(getGeneric(handle, arity), instance, args);
+        } catch (Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+        return uncheckedCast(value);
+    }
+
+    /**
+     * Invokes a handle without arguments besides the instance. Unlike
+     * {@link #invokeSpread(MethodHandle, Object, Object...)}, no argument
+     * array is created.
+     *
+     * @param handle   The handle.
+     * @param instance The instance.
+     * @param <R>      The return type.
+     * @return The result, boxed if primitive.
+     */
+    public <R> R call(MethodHandle handle, Object instance) {
+        Object value;
+        try {
+            value = getGeneric(handle, 0).invokeExact(instance);
+        } catch (Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+        return uncheckedCast(value);
+    }
+
+    /**
+     * Invokes a handle with one argument besides the instance.
+     *
+     * @param handle   The handle.
+     * @param instance The instance.
+     * @param arg0     The argument.
+     * @param <R>      The return type.
+     * @return The result, boxed if primitive.
+     */
+    public <R> R call(MethodHandle handle, Object instance, Object arg0) {
+        Object value;
+        try {
+            value = getGeneric(handle, 1).invokeExact(instance, arg0);
+        } catch (Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+        return uncheckedCast(value);
+    }
+
+    /**
+     * Invokes a handle with two arguments besides the instance.
+     *
+     * @param handle   The handle.
+     * @param instance The instance.
+     * @param arg0     The first argument.
+     * @param arg1     The second argument.
+     * @param <R>      The return type.
+     * @return The result, boxed if primitive.
+     */
+    public <R> R call(MethodHandle handle, Object instance, Object arg0, Object arg1) {
+        Object value;
+        try {
+            value = getGeneric(handle, 2).invokeExact(instance, arg0, arg1);
+        } catch (Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+        return uncheckedCast(value);
+    }
+
+    /**
+     * Invokes a handle with three arguments besides the instance.
+     *
+     * @param handle   The handle.
+     * @param instance The instance.
+     * @param arg0     The first argument.
+     * @param arg1     The second argument.
+     * @param arg2     The third argument.
+     * @param <R>      The return type.
+     * @return The result, boxed if primitive.
+     */
+    public <R> R call(MethodHandle handle, Object instance, Object arg0, Object arg1, Object arg2) {
+        Object value;
+        try {
+            value = getGeneric(handle, 3).invokeExact(instance, arg0, arg1, arg2);
+        } catch (Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+        return uncheckedCast(value);
+    }
+
+    /**
+     * Invokes a handle with four arguments besides the instance.
+     *
+     * @param handle   The handle.
+     * @param instance The instance.
+     * @param arg0     The first argument.
+     * @param arg1     The second argument.
+     * @param arg2     The third argument.
+     * @param arg3     The fourth argument.
+     * @param <R>      The return type.
+     * @return The result, boxed if primitive.
+     */
+    public <R> R call(MethodHandle handle, Object instance, Object arg0, Object arg1, Object arg2, Object arg3) {
+        Object value;
+        try {
+            value = getGeneric(handle, 4).invokeExact(instance, arg0, arg1, arg2, arg3);
+        } catch (Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+        return uncheckedCast(value);
+    }
+
+    /**
+     * Adapts a handle to a generic type with an instance and a number of
+     * arguments. The adaptations are kept in a table indexed by the identity
+     * of the handle and the number of arguments, so alternating call sites do
+     * not evict each other, and a collision only replaces a single entry.
+     *
+     * @param handle The handle.
+     * @param arity  The number of arguments besides the instance.
+     * @return The adapted handle.
+     */
+    MethodHandle getGeneric(MethodHandle handle, int arity) {
+        int index = (System.identityHashCode(handle) * 31 + arity) & (ADAPTATION_LIMIT - 1);
+        Adaptation adaptation = adaptations[index];
+        if (adaptation == null || adaptation.handle() != handle || adaptation.arity() != arity) {
+            adaptation = new Adaptation(handle, arity, handle.asType(MethodType.genericMethodType(arity + 1)));
+            adaptations[index] = adaptation;
+        }
+        return adaptation.generic();
+    }
+
+    MethodHandle getSpreadInvoker(int arity) {
+        MethodHandle invoker = spreadInvokers[arity];
+        if (invoker == null) {
+            invoker = MethodHandles.spreadInvoker(MethodType.genericMethodType(arity + 1), 1);
+            spreadInvokers[arity] = invoker;
+        }
+        return invoker;
+    }
+
+    private MethodHandle unreflect(int kind, AccessibleObject member) {
+        MethodHandles.Lookup lookup = this.lookup;
+        Unreflection unreflection = new Unreflection(kind, member, lookup);
+        MethodHandle handle = handles.get(unreflection);
+        if (handle == null) {
+            try {
+                handle = switch (kind) {
+                    case METHOD -> lookup.unreflect((Method) member);
+                    case CONSTRUCTOR -> lookup.unreflectConstructor((Constructor<?>) member);
+                    case GETTER -> lookup.unreflectGetter((Field) member);
+                    default -> lookup.unreflectSetter((Field) member);
+                };
+            } catch (IllegalAccessException exception) {
+                throw new AssertionError(exception);
+            }
+            MethodHandle existing = handles.putIfAbsent(unreflection, handle);
+            if (existing != null) {
+                handle = existing;
+            }
+        }
+        return handle;
+    }
+
+    private record Adaptation(MethodHandle handle, int arity, MethodHandle generic) {
+    }
+
+    private record Unreflection(int kind, AccessibleObject member, MethodHandles.Lookup lookup) {
+    }
+
     /**
      * Stub.
      *
@@ -329,7 +567,7 @@ public final class Reflector {
         return null;
     }
 
-    private String getNonInstantiableMessage(Class<?> type, String typeName) {
+    String getNonInstantiableMessage(Class<?> type, String typeName) {
         if (type.isAnnotation()) {
             return "Type %s cannot be an annotation".formatted(typeName);
         }
@@ -479,6 +717,21 @@ public final class Reflector {
         }
     }
 
+    /**
+     * Prepares a throwable caught from a handle invocation to be rethrown.
+     * Runtime exceptions are returned as they are, and any other throwable is
+     * wrapped in an {@link AssertionError}.
+     *
+     * @param throwable The throwable.
+     * @return The exception, for the caller to throw.
+     */
+    static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException exception) {
+            return exception;
+        }
+        throw new AssertionError(throwable);
+    }
+
     /**
      * Casts a given object to a generic type.
      *
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.util.Objects;
+
+/**
+ * Represents one key of an ordering.
+ *
+ * @param path       The field names, separated by dots.
+ * @param descending Whether the order is descending.
+ * @param nullsFirst Whether {@code null} values come first.
+ */
+public record SortKey(String path, boolean descending, boolean nullsFirst) {
+    /**
+     * Creates a key.
+     *
+     * @param path       The field names, separated by dots.
+     * @param descending Whether the order is descending.
+     * @param nullsFirst Whether {@code null} values come first.
+     */
+    public SortKey {
+        Objects.requireNonNull(path, "Path cannot be null");
+    }
+
+    /**
+     * Creates an ascending key with {@code null} values last.
+     *
+     * @param path The field names, separated by dots.
+     * @return The key.
+     */
+    public static SortKey ascending(String path) {
+        return new SortKey(path, false, false);
+    }
+
+    /**
+     * Creates a descending key with {@code null} values last.
+     *
+     * @param path The field names, separated by dots.
+     * @return The key.
+     */
+    public static SortKey descending(String path) {
+        return new SortKey(path, true, false);
+    }
+
+    /**
+     * Creates a copy of this key with {@code null} values first.
+     *
+     * @return The key.
+     */
+    public SortKey withNullsFirst() {
+        return new SortKey(path, descending, true);
+    }
+
+    /**
+     * Creates a copy of this key with {@code null} values last.
+     *
+     * @return The key.
+     */
+    public SortKey withNullsLast() {
+        return new SortKey(path, descending, false);
+    }
+}
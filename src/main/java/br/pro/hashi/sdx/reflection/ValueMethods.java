@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.runtime.ObjectMethods;
+import java.util.StringJoiner;
+
+/**
+ * <p>
+ * Compares, hashes and describes the objects of a class by the values of all
+ * their fields, as if they were records.
+ * </p>
+ * <p>
+ * The operations are built once from the getters of the {@link ClassModel},
+ * with the same bootstrap used by records, so primitive fields are compared
+ * and hashed without boxing.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class ValueMethods<T> {
+    private final Class<T> type;
+    private final MethodHandle equalsHandle;
+    private final MethodHandle hashCodeHandle;
+    private final MethodHandle toStringHandle;
+
+    ValueMethods(ClassModel<T> model) {
+        Class<T> type = model.getType();
+        int size = model.size();
+        StringJoiner joiner = new StringJoiner(";");
+        MethodHandle[] getters = new MethodHandle[size];
+        for (int slot = 0; slot < size; slot++) {
+            joiner.add(model.getName(slot));
+            getters[slot] = model.getGetter(slot).asType(MethodType.methodType(model.getFieldType(slot), type));
+        }
+        String names = joiner.toString();
+        MethodHandles.Lookup lookup = model.getReflector().getLookup();
+
+        this.type = type;
+        this.equalsHandle = bootstrap(lookup, "equals", MethodType.methodType(boolean.class, type, Object.class), names, getters)
+                .asType(MethodType.methodType(boolean.class, Object.class, Object.class));
+        this.hashCodeHandle = bootstrap(lookup, "hashCode", MethodType.methodType(int.class, type), names, getters)
+                .asType(MethodType.methodType(int.class, Object.class));
+        this.toStringHandle = bootstrap(lookup, "toString", MethodType.methodType(String.class, type), names, getters)
+                .asType(MethodType.methodType(String.class, Object.class));
+    }
+
+    private MethodHandle bootstrap(MethodHandles.Lookup lookup, String methodName, MethodType methodType, String names, MethodHandle[] getters) {
+        Object callSite;
+        try {
+            callSite = ObjectMethods.bootstrap(lookup, methodName, methodType, type, names, getters);
+        } catch (Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+        return ((CallSite) callSite).getTarget();
+    }
+
+    /**
+     * Checks whether an object is equal to another, field by field.
+     *
+     * @param instance The object.
+     * @param other    The other object.
+     * @return {@code true} if both are {@code null}, both are the same, or the
+     * other is also an instance of the class and all fields are equal.
+     */
+    public boolean equals(T instance, Object other) {
+        if (instance == other) {
+            return true;
+        }
+        if (instance == null) {
+            return false;
+        }
+        try {
+            return (boolean) equalsHandle.invokeExact((Object) instance, other);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Computes the hash code of an object from all its fields.
+     *
+     * @param instance The object.
+     * @return The hash code, or {@code 0} if the object is {@code null}.
+     */
+    public int hashCode(T instance) {
+        if (instance == null) {
+            return 0;
+        }
+        try {
+            return (int) hashCodeHandle.invokeExact((Object) instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Describes an object with all its fields, in the same format as records.
+     *
+     * @param instance The object.
+     * @return The description, or {@code "null"} if the object is
+     * {@code null}.
+     */
+    public String toString(T instance) {
+        if (instance == null) {
+            return "null";
+        }
+        try {
+            return (String) toStringHandle.invokeExact((Object) instance);
+        } catch (Throwable throwable) {
+            throw Reflector.rethrow(throwable);
+        }
+    }
+
+    /**
+     * Wraps an object in a key whose {@code equals}, {@code hashCode} and
+     * {@code toString} methods are the ones of this class. This is useful for
+     * using objects that do not override them in hash-based collections.
+     *
+     * @param instance The object.
+     * @return The key.
+     */
+    public Object asKey(T instance) {
+        return new Key(instance);
+    }
+
+    private final class Key {
+        private final T instance;
+
+        private Key(T instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other instanceof ValueMethods<?>.Key key && key.getOwner() == ValueMethods.this) {
+                return ValueMethods.this.equals(instance, key.instance);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return ValueMethods.this.hashCode(instance);
+        }
+
+        @Override
+        public String toString() {
+            return ValueMethods.this.toString(instance);
+        }
+
+        private ValueMethods<T> getOwner() {
+            return ValueMethods.this;
+        }
+    }
+}
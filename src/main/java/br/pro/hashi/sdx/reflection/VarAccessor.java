@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * <p>
+ * Accesses the fields of a class by slot with memory ordering and atomic
+ * update modes.
+ * </p>
+ * <p>
+ * The variable handles are resolved once, through the lookup that was current
+ * when this object was built. Final fields can only be read.
+ * </p>
+ *
+ * @param <T> The type.
+ */
+public final class VarAccessor<T> {
+    private final ClassModel<T> model;
+    private final VarHandle[] handles;
+
+    VarAccessor(ClassModel<T> model) {
+        Reflector reflector = model.getReflector();
+        int size = model.size();
+        VarHandle[] handles = new VarHandle[size];
+        for (int slot = 0; slot < size; slot++) {
+            handles[slot] = reflector.unreflectVarHandle(model.getField(slot));
+        }
+        this.model = model;
+        this.handles = handles;
+    }
+
+    /**
+     * Obtains the variable handle in a slot.
+     *
+     * @param slot The slot.
+     * @return The handle, with the exact field type.
+     */
+    public VarHandle getVarHandle(int slot) {
+        return handles[slot];
+    }
+
+    /**
+     * Reads the value of a field with volatile semantics.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value, boxed if primitive.
+     */
+    public Object getVolatile(T instance, int slot) {
+        return handles[slot].getVolatile(instance);
+    }
+
+    /**
+     * Writes the value of a field with volatile semantics.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value, boxed if primitive.
+     */
+    public void setVolatile(T instance, int slot, Object value) {
+        handles[slot].setVolatile(instance, value);
+    }
+
+    /**
+     * Reads the value of a field with acquire semantics.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value, boxed if primitive.
+     */
+    public Object getAcquire(T instance, int slot) {
+        return handles[slot].getAcquire(instance);
+    }
+
+    /**
+     * Writes the value of a field with release semantics.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value, boxed if primitive.
+     */
+    public void setRelease(T instance, int slot, Object value) {
+        handles[slot].setRelease(instance, value);
+    }
+
+    /**
+     * Reads the value of a field with opaque semantics.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @return The value, boxed if primitive.
+     */
+    public Object getOpaque(T instance, int slot) {
+        return handles[slot].getOpaque(instance);
+    }
+
+    /**
+     * Writes the value of a field with opaque semantics.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The value, boxed if primitive.
+     */
+    public void setOpaque(T instance, int slot, Object value) {
+        handles[slot].setOpaque(instance, value);
+    }
+
+    /**
+     * Atomically replaces the value of a field if it is the expected one. For
+     * reference fields, the comparison is by identity.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param expected The expected value, boxed if primitive.
+     * @param value    The new value, boxed if primitive.
+     * @return {@code true} if the value was replaced.
+     */
+    public boolean compareAndSet(T instance, int slot, Object expected, Object value) {
+        return handles[slot].compareAndSet(instance, expected, value);
+    }
+
+    /**
+     * Atomically replaces the value of a field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param value    The new value, boxed if primitive.
+     * @return The previous value, boxed if primitive.
+     */
+    public Object getAndSet(T instance, int slot, Object value) {
+        return handles[slot].getAndSet(instance, value);
+    }
+
+    /**
+     * Atomically replaces the value of an {@code int} field if it is the
+     * expected one.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param expected The expected value.
+     * @param value    The new value.
+     * @return {@code true} if the value was replaced.
+     */
+    public boolean compareAndSetInt(T instance, int slot, int expected, int value) {
+        return getVarHandle(slot, int.class).compareAndSet(instance, expected, value);
+    }
+
+    /**
+     * Atomically adds to the value of an {@code int} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param delta    The value to add.
+     * @return The previous value.
+     */
+    public int getAndAddInt(T instance, int slot, int delta) {
+        return (int) getVarHandle(slot, int.class).getAndAdd(instance, delta);
+    }
+
+    /**
+     * Atomically replaces the value of a {@code long} field if it is the
+     * expected one.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param expected The expected value.
+     * @param value    The new value.
+     * @return {@code true} if the value was replaced.
+     */
+    public boolean compareAndSetLong(T instance, int slot, long expected, long value) {
+        return getVarHandle(slot, long.class).compareAndSet(instance, expected, value);
+    }
+
+    /**
+     * Atomically adds to the value of a {@code long} field.
+     *
+     * @param instance The object.
+     * @param slot     The slot.
+     * @param delta    The value to add.
+     * @return The previous value.
+     */
+    public long getAndAddLong(T instance, int slot, long delta) {
+        return (long) getVarHandle(slot, long.class).getAndAdd(instance, delta);
+    }
+
+    private VarHandle getVarHandle(int slot, Class<?> valueType) {
+        if (!model.getFieldType(slot).equals(valueType)) {
+            throw new ReflectionException("Field %s of class %s must be %s".formatted(model.getName(slot), model.getType().getName(), valueType.getName()));
+        }
+        return handles[slot];
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.model.Child;
+import br.pro.hashi.sdx.reflection.example.model.Point;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessorTest {
+    private ModelFactory f;
+
+    @BeforeEach
+    void setUp() {
+        f = new ModelFactory(new Reflector());
+    }
+
+    @Test
+    void getsSame() {
+        ClassModel<Child> model = f.get(Child.class);
+        assertSame(model.getAccessor(), model.getAccessor());
+    }
+
+    @Test
+    void getsAndSets() {
+        Accessor<Child> a = f.get(Child.class).getAccessor();
+        Child instance = new Child();
+        a.set(instance, 1, "parent");
+        a.set(instance, 3, "child");
+        a.set(instance, 4, 1.5);
+        assertEquals("parent", a.get(instance, 1));
+        assertEquals("child", a.get(instance, 3));
+        assertEquals(1.5, a.get(instance, 4));
+        assertEquals(1L, a.get(instance, 2));
+    }
+
+    @Test
+    void getsAndSetsPrimitives() {
+        Accessor<Child> a = f.get(Child.class).getAccessor();
+        Child instance = new Child();
+        a.setInt(instance, 0, 2);
+        a.setLong(instance, 2, 3L);
+        a.setDouble(instance, 4, 4.5);
+        assertEquals(2, a.getInt(instance, 0));
+        assertEquals(3L, a.getLong(instance, 2));
+        assertEquals(4.5, a.getDouble(instance, 4));
+        assertEquals(2, instance.getId());
+        assertEquals(3L, instance.getCode());
+    }
+
+    @Test
+    void doesNotGetOrSetWrongPrimitive() {
+        Accessor<Child> a = f.get(Child.class).getAccessor();
+        Child instance = new Child();
+        assertThrows(ReflectionException.class, () -> a.getLong(instance, 0));
+        assertThrows(ReflectionException.class, () -> a.setInt(instance, 4, 1));
+        assertThrows(ReflectionException.class, () -> a.getBoolean(instance, 1));
+    }
+
+    @Test
+    void doesNotGetOrSetOutOfBounds() {
+        Accessor<Child> a = f.get(Child.class).getAccessor();
+        Child instance = new Child();
+        assertThrows(IndexOutOfBoundsException.class, () -> a.get(instance, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> a.setInt(instance, -1, 0));
+    }
+
+    @Test
+    void doesNotSetRecord() {
+        Accessor<Point> a = f.get(Point.class).getAccessor();
+        Point instance = new Point(1, 2);
+        assertEquals(2, a.getInt(instance, 1));
+        assertThrows(ReflectionException.class, () -> a.setInt(instance, 0, 3));
+    }
+
+    @Test
+    void doesNotGetFromWrongType() {
+        Accessor<Child> a = f.get(Child.class).getAccessor();
+        assertThrows(ClassCastException.class, () -> a.get("s", 0));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.annotation.*;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnnotationIndexTest {
+    private ClassModel<Entity> model;
+    private AnnotationIndex<Entity> i;
+
+    @BeforeEach
+    void setUp() {
+        model = new ModelFactory(new Reflector()).get(Entity.class);
+        i = model.getAnnotationIndex();
+    }
+
+    @Test
+    void gets() {
+        assertSame(i, model.getAnnotationIndex());
+    }
+
+    @Test
+    void indexesClass() {
+        assertTrue(i.isPresent(Table.class));
+        assertFalse(i.isPresent(Column.class));
+        AnnotationData data = i.get(Table.class);
+        assertEquals(Table.class, data.type());
+        assertEquals("entities", data.get("name"));
+        assertEquals(List.of("id", "name"), data.get("indexes"));
+        assertThrows(UnsupportedOperationException.class, () -> data.values().put("name", "other"));
+        assertNull(i.get(Hook.class));
+    }
+
+    @Test
+    void indexesNonPublic() throws ClassNotFoundException {
+        AnnotationIndex<Tagged> index = new ModelFactory(new Reflector()).get(Tagged.class).getAnnotationIndex();
+        Class<?> markerType = Class.forName("br.pro.hashi.sdx.reflection.example.annotation.Holder$Marker");
+        Class<?> secretType = Class.forName("br.pro.hashi.sdx.reflection.example.annotation.Secret");
+        assertEquals("marker", index.get(markerType.asSubclass(Annotation.class)).get("value"));
+        assertEquals(3, (int) index.get(secretType.asSubclass(Annotation.class)).get("value"));
+    }
+
+    @Test
+    void indexesFields() {
+        int id = model.getSlot("id");
+        int name = model.getSlot("name");
+        int score = model.getSlot("score");
+        assertTrue(i.isPresent(id, Column.class));
+        assertTrue(i.isPresent(name, Column.class));
+        assertFalse(i.isPresent(score, Column.class));
+        assertFalse(i.isPresent(id, Hook.class));
+        BitSet slots = new BitSet();
+        slots.set(id);
+        slots.set(name);
+        assertEquals(slots, i.getSlots(Column.class));
+        assertTrue(i.getSlots(Hook.class).isEmpty());
+
+        AnnotationData data = i.get(id, Column.class);
+        assertEquals("entity_id", data.get("value"));
+        assertFalse((boolean) data.get("nullable"));
+        AnnotationData range = i.get(name, Column.class).get("range");
+        assertEquals(Range.class, range.type());
+        assertEquals(100, (int) range.get("max"));
+        assertNull(i.get(score, Column.class));
+        assertNull(i.get(score, Hook.class));
+    }
+
+    @Test
+    void indexesMethods() {
+        Method beforeSave = assertDoesNotThrow(() -> Entity.class.getDeclaredMethod("beforeSave"));
+        Method afterSave = assertDoesNotThrow(() -> Entity.class.getDeclaredMethod("afterSave"));
+        assertTrue(i.isPresent(beforeSave, Hook.class));
+        assertFalse(i.isPresent(afterSave, Hook.class));
+        assertEquals(Hook.class, i.get(beforeSave, Hook.class).type());
+        assertNull(i.get(afterSave, Hook.class));
+    }
+
+    @Test
+    void doesNotGetMissingElement() {
+        AnnotationData data = i.get(Table.class);
+        assertThrows(ReflectionException.class, () -> data.get("missing"));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.binder.Doubler;
+import br.pro.hashi.sdx.reflection.example.binder.Greeter;
+import br.pro.hashi.sdx.reflection.example.binder.Hooks;
+import br.pro.hashi.sdx.reflection.example.binder.NotFunctional;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinderTest {
+    private Reflector reflector;
+    private Binder b;
+
+    @BeforeEach
+    void setUp() {
+        reflector = new Reflector();
+        b = new Binder(reflector);
+    }
+
+    @Test
+    void bindsStatic() {
+        Method method = getMethod("twice", int.class);
+        IntUnaryOperator operator = b.bind(method, IntUnaryOperator.class);
+        assertSame(operator, b.bind(method, IntUnaryOperator.class));
+        assertEquals(6, operator.applyAsInt(3));
+        assertFalse(Proxy.isProxyClass(operator.getClass()));
+    }
+
+    @Test
+    void bindsStaticWithConversions() {
+        Doubler doubler = b.bind(getMethod("twice", int.class), Doubler.class);
+        assertEquals(12, doubler.twice(3));
+        Function<Integer, Integer> function = reflector.uncheckedCast(b.bind(getMethod("twice", int.class), Function.class));
+        assertEquals(6, function.apply(3));
+    }
+
+    @Test
+    void bindsInstance() {
+        Greeter greeter = b.bind(getMethod("greet", String.class), Greeter.class);
+        assertEquals("hello world", greeter.greet(new Hooks("hello "), "world"));
+        BiFunction<Hooks, String, String> function = reflector.uncheckedCast(b.bind(getMethod("greet", String.class), BiFunction.class));
+        assertEquals("hi world", function.apply(new Hooks("hi "), "world"));
+    }
+
+    @Test
+    void bindsBoundInstance() {
+        Method method = getMethod("greet", String.class);
+        Function<String, String> function = reflector.uncheckedCast(b.bind(method, Function.class, new Hooks("hello ")));
+        assertEquals("hello world", function.apply("world"));
+        Function<String, String> other = reflector.uncheckedCast(b.bind(method, Function.class, new Hooks("hi ")));
+        assertEquals("hi world", other.apply("world"));
+    }
+
+    @Test
+    void fallsBackToProxy() {
+        Method method = getMethod("secret", String.class);
+        method.setAccessible(true);
+        Function<String, String> function = reflector.uncheckedCast(b.bind(method, Function.class, new Hooks("")));
+        assertEquals("secret world", function.apply("world"));
+        assertTrue(Proxy.isProxyClass(function.getClass()));
+    }
+
+    @Test
+    void fallsBackToProxyWithoutPrivilege() {
+        reflector.setLookup(MethodHandles.lookup().dropLookupMode(MethodHandles.Lookup.PRIVATE));
+        IntUnaryOperator operator = b.bind(getMethod("twice", int.class), IntUnaryOperator.class);
+        assertEquals(6, operator.applyAsInt(3));
+        assertTrue(Proxy.isProxyClass(operator.getClass()));
+    }
+
+    @Test
+    void doesNotBindStaticToInstance() {
+        Method method = getMethod("twice", int.class);
+        Hooks hooks = new Hooks("");
+        assertThrows(ReflectionException.class, () -> b.bind(method, IntUnaryOperator.class, hooks));
+    }
+
+    @Test
+    void doesNotBindNotFunctional() {
+        Method method = getMethod("greet", String.class);
+        assertThrows(ReflectionException.class, () -> b.bind(method, NotFunctional.class));
+        assertThrows(ReflectionException.class, () -> b.bind(method, Hooks.class));
+    }
+
+    @Test
+    void doesNotBindIncompatible() {
+        Method method = getMethod("greet", String.class);
+        assertThrows(ReflectionException.class, () -> b.bind(method, IntUnaryOperator.class));
+    }
+
+    private Method getMethod(String name, Class<?>... parameterTypes) {
+        return assertDoesNotThrow(() -> Hooks.class.getDeclaredMethod(name, parameterTypes));
+    }
+}
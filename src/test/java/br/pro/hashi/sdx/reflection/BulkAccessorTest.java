@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.model.Child;
+import br.pro.hashi.sdx.reflection.example.model.Point;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkAccessorTest {
+    private ModelFactory f;
+
+    @BeforeEach
+    void setUp() {
+        f = new ModelFactory(new Reflector());
+    }
+
+    @Test
+    void getsSame() {
+        ClassModel<Child> model = f.get(Child.class);
+        assertSame(model.getBulkAccessor(), model.getBulkAccessor());
+    }
+
+    @Test
+    void readsAll() {
+        BulkAccessor<Child> a = f.get(Child.class).getBulkAccessor();
+        Child instance = new Child();
+        instance.setId(2);
+        instance.amount = 3.5;
+        assertArrayEquals(new Object[]{2, null, 1L, null, 3.5}, a.readAll(instance));
+    }
+
+    @Test
+    void readsAllIntoRow() {
+        BulkAccessor<Point> a = f.get(Point.class).getBulkAccessor();
+        Object[] row = new Object[2];
+        a.readAll(new Point(1, 2), row);
+        assertArrayEquals(new Object[]{1, 2}, row);
+    }
+
+    @Test
+    void writesAll() {
+        BulkAccessor<Child> a = f.get(Child.class).getBulkAccessor();
+        Child instance = new Child();
+        a.writeAll(instance, new Object[]{2, "parent", 3L, "child", 4.5});
+        assertEquals(2, instance.getId());
+        assertEquals("parent", instance.getParentName());
+        assertEquals(3L, instance.getCode());
+        assertEquals("child", instance.getChildName());
+        assertEquals(4.5, instance.amount);
+    }
+
+    @Test
+    void doesNotReadOrWriteWrongLength() {
+        BulkAccessor<Child> a = f.get(Child.class).getBulkAccessor();
+        Child instance = new Child();
+        assertThrows(IllegalArgumentException.class, () -> a.readAll(instance, new Object[4]));
+        assertThrows(IllegalArgumentException.class, () -> a.writeAll(instance, new Object[6]));
+    }
+
+    @Test
+    void doesNotWriteRecord() {
+        BulkAccessor<Point> a = f.get(Point.class).getBulkAccessor();
+        assertThrows(ReflectionException.class, () -> a.writeAll(new Point(1, 2), new Object[]{3, 4}));
+    }
+
+    @Test
+    void readsAndWritesEmpty() {
+        BulkAccessor<Object> a = f.get(Object.class).getBulkAccessor();
+        Object instance = new Object();
+        assertEquals(0, a.readAll(instance).length);
+        assertDoesNotThrow(() -> a.writeAll(instance, new Object[0]));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkParserTest {
+    private BulkParser p;
+
+    @BeforeEach
+    void setUp() {
+        p = new BulkParser(new ParserFactory(new Reflector()));
+    }
+
+    @Test
+    void parsesInts() {
+        assertArrayEquals(new int[]{1, -2, 3}, p.parseInts("1, -2 ,3", ','));
+    }
+
+    @Test
+    void parsesEmptyInts() {
+        assertArrayEquals(new int[]{}, p.parseInts(" ", ','));
+    }
+
+    @Test
+    void parsesIntsWithTrailingDelimiter() {
+        assertArrayEquals(new int[]{1, 2}, p.parseInts("1,2,\n", ','));
+    }
+
+    @Test
+    void doesNotParseIntsWithEmptyValue() {
+        assertThrows(NumberFormatException.class, () -> p.parseInts("1,,2", ','));
+    }
+
+    @Test
+    void doesNotParseInvalidInts() {
+        assertThrows(NumberFormatException.class, () -> p.parseInts("1,a", ','));
+    }
+
+    @Test
+    void parsesIntsFromReader() {
+        String input = sequence(5000);
+        int[] values = assertDoesNotThrow(() -> p.parseInts(new StringReader(input), ';'));
+        assertArrayEquals(IntStream.range(0, 5000).toArray(), values);
+    }
+
+    @Test
+    void parsesIntsFromChannel() {
+        String input = sequence(5000);
+        int[] values = assertDoesNotThrow(() -> p.parseInts(channel(input), ';'));
+        assertArrayEquals(IntStream.range(0, 5000).toArray(), values);
+    }
+
+    @Test
+    void parsesLongs() {
+        assertArrayEquals(new long[]{Long.MAX_VALUE, Long.MIN_VALUE}, p.parseLongs("%d|%d".formatted(Long.MAX_VALUE, Long.MIN_VALUE), '|'));
+    }
+
+    @Test
+    void parsesLongsFromReader() {
+        long[] values = assertDoesNotThrow(() -> p.parseLongs(new StringReader("1,2,3"), ','));
+        assertArrayEquals(new long[]{1, 2, 3}, values);
+    }
+
+    @Test
+    void parsesLongsFromChannel() {
+        long[] values = assertDoesNotThrow(() -> p.parseLongs(channel("1,2,3"), ','));
+        assertArrayEquals(new long[]{1, 2, 3}, values);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0",
+            "-0",
+            "1.5",
+            "-1.5",
+            "+2",
+            ".25",
+            "3.",
+            "0.001",
+            "123456789012345",
+            "1234567890123456789",
+            "1e10",
+            "1.5E-5",
+            "2e+3",
+            "1e400",
+            "4.9e-324",
+            "0.1",
+            "NaN",
+            "-Infinity",
+            "1.7976931348623157E308"})
+    void parsesDoubles(String value) {
+        assertArrayEquals(new double[]{Double.parseDouble(value), 1}, p.parseDoubles(value + ",1", ','));
+    }
+
+    @Test
+    void doesNotParseInvalidDoubles() {
+        assertThrows(NumberFormatException.class, () -> p.parseDoubles("1,.", ','));
+    }
+
+    @Test
+    void parsesDoublesFromReader() {
+        double[] values = assertDoesNotThrow(() -> p.parseDoubles(new StringReader("0.5\t1e2"), '\t'));
+        assertArrayEquals(new double[]{0.5, 100}, values);
+    }
+
+    @Test
+    void parsesDoublesFromChannel() {
+        double[] values = assertDoesNotThrow(() -> p.parseDoubles(channel("0.5\t1e2"), '\t'));
+        assertArrayEquals(new double[]{0.5, 100}, values);
+    }
+
+    @Test
+    void parsesList() {
+        assertEquals(List.of(true, false), p.parseList(Boolean.class, "true,false", ','));
+    }
+
+    @Test
+    void parsesPrimitiveList() {
+        assertEquals(List.of(1, 2), p.parseList(int.class, "1,2", ','));
+    }
+
+    @Test
+    void doesNotParseUnsupportedList() {
+        assertThrows(ReflectionException.class, () -> p.parseList(Object.class, "1,2", ','));
+    }
+
+    @Test
+    void parsesListFromReader() {
+        String large = "a".repeat(20000);
+        List<String> values = assertDoesNotThrow(() -> p.parseList(String.class, new StringReader("b," + large + ",c"), ','));
+        assertEquals(List.of("b", large, "c"), values);
+    }
+
+    @Test
+    void parsesListFromChannel() {
+        List<String> values = assertDoesNotThrow(() -> p.parseList(String.class, channel("á,é"), ','));
+        assertEquals(List.of("á", "é"), values);
+    }
+
+    private String sequence(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(";"));
+    }
+
+    private ReadableByteChannel channel(String input) {
+        return Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.model.Child;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnExtractorTest {
+    private ClassModel<Child> model;
+    private ColumnExtractor<Child> e;
+
+    @BeforeEach
+    void setUp() {
+        model = new ModelFactory(new Reflector()).get(Child.class);
+        e = model.getColumnExtractor();
+    }
+
+    @Test
+    void getsSame() {
+        assertSame(e, model.getColumnExtractor());
+    }
+
+    @Test
+    void extracts() {
+        List<Child> instances = mockInstances(3);
+        int[] ids = e.extract(instances, "id");
+        double[] amounts = e.extract(instances, "amount");
+        String[] names = e.extract(instances, "name");
+        assertArrayEquals(new int[]{0, 1, 2}, ids);
+        assertArrayEquals(new double[]{0, 0.5, 1}, amounts);
+        assertArrayEquals(new String[]{null, null, null}, names);
+    }
+
+    @Test
+    void extractsAllFromLinkedList() {
+        List<Child> instances = new LinkedList<>(mockInstances(2));
+        Object[] arrays = e.extractAll(instances, true, "code", "id");
+        assertArrayEquals(new long[]{1, 1}, (long[]) arrays[0]);
+        assertArrayEquals(new int[]{0, 1}, (int[]) arrays[1]);
+    }
+
+    @Test
+    void extractsInParallel() {
+        List<Child> instances = mockInstances(100000);
+        int[] ids = e.extract(new LinkedList<>(instances), "id", true);
+        double[] amounts = e.extract(instances, "amount", true);
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(i, ids[i]);
+            assertEquals(i * 0.5, amounts[i]);
+        }
+    }
+
+    @Test
+    void extractsToBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        e.extract(mockInstances(3), "id", buffer);
+        buffer.flip();
+        assertEquals(0, buffer.getInt());
+        assertEquals(1, buffer.getInt());
+        assertEquals(2, buffer.getInt());
+    }
+
+    @Test
+    void doesNotExtractReferenceToBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        assertThrows(ReflectionException.class, () -> e.extract(mockInstances(3), "name", buffer));
+    }
+
+    @Test
+    void doesNotExtractMissing() {
+        assertThrows(ReflectionException.class, () -> e.extract(mockInstances(3), "missing"));
+    }
+
+    private List<Child> mockInstances(int size) {
+        List<Child> instances = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Child instance = new Child();
+            instance.setId(i);
+            instance.amount = i * 0.5;
+            instances.add(instance);
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.path.Address;
+import br.pro.hashi.sdx.reflection.example.path.Customer;
+import br.pro.hashi.sdx.reflection.example.path.Order;
+import br.pro.hashi.sdx.reflection.example.path.Player;
+import br.pro.hashi.sdx.reflection.example.path.Status;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparatorFactoryTest {
+    private ComparatorFactory f;
+
+    @BeforeEach
+    void setUp() {
+        Reflector reflector = new Reflector();
+        ModelFactory modelFactory = new ModelFactory(reflector);
+        f = new ComparatorFactory(reflector, new PathFactory(reflector, modelFactory));
+    }
+
+    @Test
+    void gets() {
+        Comparator<Order> comparator = f.get(Order.class, SortKey.ascending("id"));
+        assertSame(comparator, f.get(Order.class, SortKey.ascending("id")));
+        assertNotSame(comparator, f.get(Order.class, SortKey.descending("id")));
+    }
+
+    @Test
+    void doesNotGetMissing() {
+        assertThrows(ReflectionException.class, () -> f.get(Order.class, SortKey.ascending("missing")));
+    }
+
+    @Test
+    void doesNotGetNotComparable() {
+        assertThrows(ReflectionException.class, () -> f.get(Order.class, SortKey.ascending("customer")));
+    }
+
+    @Test
+    void sortsByPrimitive() {
+        List<Order> orders = sort(f.get(Order.class, SortKey.ascending("amount")), mockOrder(1, 3.0), mockOrder(2, 1.0), mockOrder(3, 2.0));
+        assertIds(orders, 2, 3, 1);
+        orders = sort(f.get(Order.class, SortKey.descending("amount")), mockOrder(1, 3.0), mockOrder(2, 1.0), mockOrder(3, 2.0));
+        assertIds(orders, 1, 3, 2);
+    }
+
+    @Test
+    void sortsByChain() {
+        Order a = mockOrder(1, 1.0);
+        a.status = Status.INACTIVE;
+        Order b = mockOrder(2, 2.0);
+        b.status = Status.ACTIVE;
+        Order c = mockOrder(3, 1.0);
+        c.status = Status.ACTIVE;
+        Comparator<Order> comparator = f.get(Order.class, SortKey.ascending("status"), SortKey.descending("amount"));
+        assertIds(sort(comparator, a, b, c), 2, 3, 1);
+    }
+
+    @Test
+    void sortsByPath() {
+        Order a = mockOrder(1, 0.0, "b");
+        Order b = mockOrder(2, 0.0, "a");
+        Order c = mockOrder(3, 0.0, "c");
+        assertIds(sort(f.get(Order.class, SortKey.ascending("customer.address.city")), a, b, c), 2, 1, 3);
+        assertIds(sort(f.get(Order.class, SortKey.descending("customer.address.city")), a, b, c), 3, 1, 2);
+    }
+
+    @Test
+    void sortsNullsLast() {
+        Order a = mockOrder(1, 0.0, "b");
+        Order b = mockOrder(2, 0.0);
+        Order c = mockOrder(3, 0.0, null);
+        Order d = mockOrder(4, 0.0, "a");
+        assertIds(sort(f.get(Order.class, SortKey.ascending("customer.address.city")), a, b, c, d), 4, 1, 2, 3);
+        assertIds(sort(f.get(Order.class, SortKey.descending("customer.address.city")), a, b, c, d), 1, 4, 2, 3);
+    }
+
+    @Test
+    void sortsNullsFirst() {
+        Order a = mockOrder(1, 0.0, "b");
+        Order b = mockOrder(2, 0.0);
+        Order c = mockOrder(3, 0.0, "a");
+        assertIds(sort(f.get(Order.class, SortKey.ascending("customer.address.city").withNullsFirst()), a, b, c), 2, 3, 1);
+        assertIds(sort(f.get(Order.class, SortKey.descending("customer.address.city").withNullsFirst()), a, b, c), 2, 1, 3);
+    }
+
+    @Test
+    void sortsPrimitiveThroughNull() {
+        Order a = mockOrder(1, 0.0, "b");
+        a.customer.address.number = 5;
+        Order b = mockOrder(2, 0.0);
+        Order c = mockOrder(3, 0.0, "a");
+        c.customer.address.number = 3;
+        assertIds(sort(f.get(Order.class, SortKey.ascending("customer.address.number")), a, b, c), 3, 1, 2);
+    }
+
+    @Test
+    void sortsByExtremeComparisons() {
+        List<Player> players = new ArrayList<>(List.of(new Player(1, 2), new Player(2, 1), new Player(3, 3)));
+        players.sort(f.get(Player.class, SortKey.ascending("rank")));
+        assertArrayEquals(new long[]{2, 1, 3}, players.stream().mapToLong(player -> player.id).toArray());
+        players.sort(f.get(Player.class, SortKey.descending("rank")));
+        assertArrayEquals(new long[]{3, 1, 2}, players.stream().mapToLong(player -> player.id).toArray());
+    }
+
+    @Test
+    void doesNotCreateNullPath() {
+        assertThrows(NullPointerException.class, () -> new SortKey(null, false, false));
+    }
+
+    private List<Order> sort(Comparator<Order> comparator, Order... orders) {
+        List<Order> list = new ArrayList<>(List.of(orders));
+        list.sort(comparator);
+        return list;
+    }
+
+    private void assertIds(List<Order> orders, long... ids) {
+        assertArrayEquals(ids, orders.stream().mapToLong(order -> order.id).toArray());
+    }
+
+    private Order mockOrder(long id, double amount) {
+        Order order = new Order();
+        order.id = id;
+        order.amount = amount;
+        return order;
+    }
+
+    private Order mockOrder(long id, double amount, String city) {
+        Address address = new Address();
+        address.city = city;
+        Customer customer = new Customer();
+        customer.address = address;
+        Order order = mockOrder(id, amount);
+        order.customer = customer;
+        return order;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.copier.Branch;
+import br.pro.hashi.sdx.reflection.example.copier.Leaf;
+import br.pro.hashi.sdx.reflection.example.copier.Node;
+import br.pro.hashi.sdx.reflection.example.copier.Tags;
+import br.pro.hashi.sdx.reflection.example.copier.Tally;
+import br.pro.hashi.sdx.reflection.example.model.Child;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CopierTest {
+    private Copier c;
+
+    @BeforeEach
+    void setUp() {
+        Reflector reflector = new Reflector();
+        c = new Copier(reflector, new ModelFactory(reflector));
+    }
+
+    @Test
+    void copiesNull() {
+        assertNull(c.copy(null));
+        assertNull(c.shallowCopy(null));
+    }
+
+    @Test
+    void sharesImmutable() {
+        String s = "s";
+        BigDecimal d = BigDecimal.ONE;
+        Instant i = Instant.now();
+        assertSame(s, c.copy(s));
+        assertSame(d, c.copy(d));
+        assertSame(i, c.shallowCopy(i));
+    }
+
+    @Test
+    void copiesArrays() {
+        int[] values = {1, 2};
+        int[] valuesCopy = c.copy(values);
+        assertNotSame(values, valuesCopy);
+        assertArrayEquals(values, valuesCopy);
+        String[] names = {"a", "b"};
+        String[] namesCopy = c.copy(names);
+        assertNotSame(names, namesCopy);
+        assertArrayEquals(names, namesCopy);
+    }
+
+    @Test
+    void copiesFields() {
+        Child instance = new Child();
+        instance.setId(1);
+        instance.amount = 2.5;
+        Child copy = c.copy(instance);
+        assertNotSame(instance, copy);
+        assertEquals(1, copy.getId());
+        assertEquals(2.5, copy.amount);
+        assertEquals(1L, copy.getCode());
+    }
+
+    @Test
+    void copiesGraph() {
+        Node root = new Node();
+        root.name = "root";
+        root.values = new int[]{1, 2};
+        Node child = new Node();
+        child.name = "child";
+        child.next = root;
+        root.next = child;
+        root.children = new Node[]{child, root};
+        root.list.add(child);
+        root.map.put("self", root);
+
+        Node copy = c.copy(root);
+        assertNotSame(root, copy);
+        assertEquals("root", copy.name);
+        assertNotSame(root.values, copy.values);
+        assertArrayEquals(root.values, copy.values);
+        Node childCopy = copy.next;
+        assertNotSame(child, childCopy);
+        assertEquals("child", childCopy.name);
+        assertSame(copy, childCopy.next);
+        assertSame(childCopy, copy.children[0]);
+        assertSame(copy, copy.children[1]);
+        assertNotSame(root.list, copy.list);
+        assertSame(childCopy, copy.list.get(0));
+        assertSame(copy, copy.map.get("self"));
+    }
+
+    @Test
+    void copiesLongChain() {
+        Node head = new Node();
+        Node node = head;
+        for (int i = 0; i < 100000; i++) {
+            node.next = new Node();
+            node = node.next;
+        }
+        Node copy = c.copy(head);
+        int size = 0;
+        while (copy.next != null) {
+            copy = copy.next;
+            size++;
+        }
+        assertEquals(100000, size);
+    }
+
+    @Test
+    void copiesRecord() {
+        Node node = new Node();
+        Leaf leaf = new Leaf("leaf", node);
+        Leaf copy = c.copy(leaf);
+        assertNotSame(leaf, copy);
+        assertEquals("leaf", copy.name());
+        assertNotSame(node, copy.node());
+    }
+
+    @Test
+    void copiesSetsWithFilledElements() {
+        Set<List<String>> set = new HashSet<>();
+        set.add(new ArrayList<>(List.of("a", "b")));
+        Set<List<String>> copy = c.copy(set);
+        assertEquals(set, copy);
+        assertTrue(copy.contains(List.of("a", "b")));
+    }
+
+    @Test
+    void sharesShallowFields() {
+        c.setShallow(Node.class, "next", "shared");
+        Node root = new Node();
+        root.next = new Node();
+        root.shared = new Node();
+        Node copy = c.copy(root);
+        assertSame(root.next, copy.next);
+        assertSame(root.shared, copy.shared);
+        assertNotSame(root.list, copy.list);
+    }
+
+    @Test
+    void sharesInheritedShallowFields() {
+        c.setShallow(Branch.class, "next");
+        Branch branch = new Branch();
+        branch.next = new Node();
+        branch.extra = new Node();
+        Branch copy = c.copy(branch);
+        assertSame(branch.next, copy.next);
+        assertNotSame(branch.extra, copy.extra);
+        Node node = new Node();
+        node.next = new Node();
+        assertNotSame(node.next, c.copy(node).next);
+    }
+
+    @Test
+    void sharesShallowFieldsOfSubclasses() {
+        c.setShallow(Node.class, "shared");
+        Branch branch = new Branch();
+        branch.shared = new Node();
+        assertSame(branch.shared, c.copy(branch).shared);
+    }
+
+    @Test
+    void doesNotSetMissingInheritedShallow() {
+        c.setShallow(Node.class, "extra");
+        assertThrows(ReflectionException.class, () -> c.copy(new Branch()));
+    }
+
+    @Test
+    void copiesUnmodifiableCollections() {
+        Node node = new Node();
+        List<Node> list = List.of(node);
+        List<Node> listCopy = c.copy(list);
+        assertEquals(1, listCopy.size());
+        assertNotSame(node, listCopy.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> listCopy.add(node));
+        Set<String> set = Collections.unmodifiableSet(new TreeSet<>(Set.of("b", "a")));
+        Set<String> setCopy = c.copy(set);
+        assertEquals(List.of("a", "b"), new ArrayList<>(setCopy));
+        assertThrows(UnsupportedOperationException.class, () -> setCopy.add("c"));
+        Map<String, Node> map = Map.of("node", node);
+        Map<String, Node> mapCopy = c.shallowCopy(map);
+        assertSame(node, mapCopy.get("node"));
+        assertThrows(UnsupportedOperationException.class, () -> mapCopy.clear());
+    }
+
+    @Test
+    void copiesUnmodifiableCollectionsInCycles() {
+        Node node = new Node();
+        node.shared = Collections.unmodifiableList(new ArrayList<>(List.of(node)));
+        Node copy = c.copy(node);
+        List<?> sharedCopy = (List<?>) copy.shared;
+        assertSame(copy, sharedCopy.get(0));
+    }
+
+    @Test
+    void copiesCollectionsOfInaccessibleClasses() {
+        Node node = new Node();
+        Tags tags = new Tags();
+        tags.add("a");
+        node.shared = tags;
+        Node copy = c.copy(node);
+        List<?> tagsCopy = (List<?>) copy.shared;
+        assertNotSame(tags, tagsCopy);
+        assertEquals(List.of("a"), tagsCopy);
+        List<Node> list = Arrays.asList(node);
+        List<Node> listCopy = c.copy(list);
+        assertNotSame(node, listCopy.get(0));
+        listCopy.add(node);
+        assertEquals(List.of(), c.copy(Collections.emptyList()));
+        List<Node> singletonCopy = c.copy(Collections.singletonList(node));
+        assertNotSame(node, singletonCopy.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> singletonCopy.add(node));
+        Map<String, Node> mapCopy = c.copy(Collections.singletonMap("node", node));
+        assertNotSame(node, mapCopy.get("node"));
+    }
+
+    @Test
+    void copiesDatesAndOptionals() {
+        Date date = new Date(1);
+        Date dateCopy = c.copy(date);
+        assertNotSame(date, dateCopy);
+        assertEquals(date, dateCopy);
+        assertNotSame(date, c.shallowCopy(date));
+        Node node = new Node();
+        Optional<Node> optional = Optional.of(node);
+        Optional<Node> optionalCopy = c.copy(optional);
+        assertNotSame(node, optionalCopy.orElseThrow());
+        assertSame(optional, c.shallowCopy(optional));
+        assertEquals(Optional.empty(), c.copy(Optional.empty()));
+    }
+
+    @Test
+    void doesNotCopyInheritedInaccessible() {
+        Tally tally = new Tally();
+        ReflectionException exception = assertThrows(ReflectionException.class, () -> c.copy(tally));
+        assertTrue(exception.getMessage().contains(Tally.class.getName()));
+    }
+
+    @Test
+    void sharesDeclaredImmutable() {
+        c.setImmutable(Node.class);
+        Node node = new Node();
+        assertSame(node, c.copy(node));
+    }
+
+    @Test
+    void doesNotSetMissingShallow() {
+        c.setShallow(Node.class, "missing");
+        assertThrows(ReflectionException.class, () -> c.copy(new Node()));
+    }
+
+    @Test
+    void copiesShallowly() {
+        Node root = new Node();
+        root.next = new Node();
+        root.values = new int[]{1};
+        Node copy = c.shallowCopy(root);
+        assertNotSame(root, copy);
+        assertSame(root.next, copy.next);
+        assertSame(root.values, copy.values);
+        List<Node> list = new ArrayList<>(List.of(root));
+        List<Node> listCopy = c.shallowCopy(list);
+        assertNotSame(list, listCopy);
+        assertSame(root, listCopy.get(0));
+        Leaf leaf = new Leaf("leaf", root);
+        assertSame(root, c.shallowCopy(leaf).node());
+    }
+
+    @Test
+    void doesNotCopyInaccessible() {
+        Object instance = new StringBuilder();
+        assertThrows(ReflectionException.class, () -> c.copy(instance));
+    }
+}
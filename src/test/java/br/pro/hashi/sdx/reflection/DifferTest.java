@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.differ.Primitives;
+import br.pro.hashi.sdx.reflection.example.differ.Wide;
+import br.pro.hashi.sdx.reflection.example.model.Point;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DifferTest {
+    private ModelFactory f;
+
+    @BeforeEach
+    void setUp() {
+        f = new ModelFactory(new Reflector());
+    }
+
+    @Test
+    void getsSame() {
+        ClassModel<Primitives> model = f.get(Primitives.class);
+        assertSame(model.getDiffer(), model.getDiffer());
+    }
+
+    @Test
+    void findsNothing() {
+        Differ<Primitives> d = f.get(Primitives.class).getDiffer();
+        Primitives before = new Primitives();
+        before.doubleValue = Double.NaN;
+        before.stringValue = "s";
+        Primitives after = new Primitives();
+        after.doubleValue = Double.NaN;
+        after.stringValue = new String("s");
+        assertTrue(d.diff(before, after).isEmpty());
+        assertFalse(d.differs(before, after));
+    }
+
+    @Test
+    void findsEachPrimitive() {
+        Differ<Primitives> d = f.get(Primitives.class).getDiffer();
+        Primitives before = new Primitives();
+        Primitives after = new Primitives();
+        after.booleanValue = true;
+        after.charValue = 'c';
+        after.floatValue = -0.0F;
+        after.stringValue = "s";
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(3);
+        expected.set(6);
+        expected.set(8);
+        assertEquals(expected, d.diff(before, after));
+        assertTrue(d.differs(before, after));
+    }
+
+    @Test
+    void findsBeyondFirstWord() {
+        Differ<Wide> d = f.get(Wide.class).getDiffer();
+        Wide before = new Wide();
+        Wide after = new Wide();
+        after.value63 = 1;
+        after.value69 = 1;
+        BitSet expected = new BitSet();
+        expected.set(63);
+        expected.set(69);
+        assertEquals(expected, d.diff(before, after));
+    }
+
+    @Test
+    void capturesSnapshot() {
+        Differ<Primitives> d = f.get(Primitives.class).getDiffer();
+        Primitives instance = new Primitives();
+        instance.intValue = 1;
+        Primitives snapshot = d.snapshot(instance);
+        assertNotSame(instance, snapshot);
+        assertFalse(d.differs(snapshot, instance));
+        instance.longValue = 2;
+        BitSet expected = new BitSet();
+        expected.set(5);
+        assertEquals(expected, d.diff(snapshot, instance));
+    }
+
+    @Test
+    void capturesRecord() {
+        Differ<Point> d = f.get(Point.class).getDiffer();
+        Point instance = new Point(1, 2);
+        assertSame(instance, d.snapshot(instance));
+        BitSet expected = new BitSet();
+        expected.set(1);
+        assertEquals(expected, d.diff(instance, new Point(1, 3)));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.parser.Ambiguous;
+import br.pro.hashi.sdx.reflection.example.parser.Cased;
+import br.pro.hashi.sdx.reflection.example.parser.Colliding;
+import br.pro.hashi.sdx.reflection.example.parser.Color;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumParserTest {
+    private ParserFactory f;
+
+    @BeforeEach
+    void setUp() {
+        f = new ParserFactory(new Reflector());
+    }
+
+    @Test
+    void gets() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        assertSame(Color.class, parser.getType());
+        assertFalse(parser.isCaseInsensitive());
+        assertSame(parser, f.getEnumParser(Color.class));
+        assertNotSame(parser, f.getEnumParser(Color.class, true));
+    }
+
+    @Test
+    void doesNotGetAmbiguous() {
+        assertThrows(ReflectionException.class, () -> f.getEnumParser(Ambiguous.class));
+    }
+
+    @Test
+    void parses() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        for (Color color : Color.values()) {
+            assertSame(color, parser.parse(color.name()));
+        }
+    }
+
+    @Test
+    void parsesAliases() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        assertSame(Color.GREEN, parser.parse("grn"));
+        assertSame(Color.GREEN, parser.parse("verde"));
+        assertSame(Color.CRIMSON, parser.parse("scarlet"));
+    }
+
+    @Test
+    void parsesView() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        byte[] bytes = "xBLUEx".getBytes(StandardCharsets.US_ASCII);
+        assertSame(Color.BLUE, parser.parse(f.view(bytes, 1, 4)));
+    }
+
+    @Test
+    void parsesWithFallback() {
+        EnumParser<Color> parser = new EnumParser<>(Color.class, false, 0);
+        for (Color color : Color.values()) {
+            assertSame(color, parser.parse(color.name()));
+        }
+        assertSame(Color.GREEN, parser.parse("verde"));
+        assertSame(Color.BLUE, parser.parse(f.view("xBLUEx".getBytes(StandardCharsets.US_ASCII), 1, 4)));
+        assertNull(parser.find("green"));
+        EnumParser<Color> insensitiveParser = new EnumParser<>(Color.class, true, 0);
+        assertSame(Color.GREEN, insensitiveParser.parse("green"));
+        assertNull(insensitiveParser.find("gree"));
+    }
+
+    @Test
+    void parsesColliding() {
+        EnumParser<Colliding> parser = f.getEnumParser(Colliding.class);
+        assertSame(Colliding.Aa, parser.parse("Aa"));
+        assertSame(Colliding.BB, parser.parse("BB"));
+        assertNull(parser.find("Ab"));
+        assertEquals(EnumSet.of(Colliding.Aa, Colliding.BB), parser.parseSet("BB, Aa", ','));
+    }
+
+    @Test
+    void findsMissing() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        assertNull(parser.find("green"));
+        assertNull(parser.find("GREE"));
+        assertNull(parser.find(""));
+    }
+
+    @Test
+    void doesNotParseMissing() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("green"));
+    }
+
+    @Test
+    void parsesIgnoringCase() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class, true);
+        assertSame(Color.GREEN, parser.parse("green"));
+        assertSame(Color.GREEN, parser.parse("GRN"));
+        assertSame(Color.BLUE, parser.parse("Blue"));
+    }
+
+    @Test
+    void getsDistinctWithCase() {
+        assertSame(Cased.OTHER, f.getEnumParser(Cased.class).parse("lower"));
+    }
+
+    @Test
+    void doesNotGetAmbiguousIgnoringCase() {
+        assertThrows(ReflectionException.class, () -> f.getEnumParser(Cased.class, true));
+    }
+
+    @Test
+    void parsesSet() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        assertEquals(EnumSet.of(Color.RED, Color.GREEN), parser.parseSet("RED, grn ,RED,", ','));
+    }
+
+    @Test
+    void parsesEmptySet() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        assertEquals(EnumSet.noneOf(Color.class), parser.parseSet(" ", ','));
+    }
+
+    @Test
+    void doesNotParseSetWithMissing() {
+        EnumParser<Color> parser = f.getEnumParser(Color.class);
+        assertThrows(IllegalArgumentException.class, () -> parser.parseSet("RED,,BLUE", ','));
+    }
+
+    @Test
+    void parsesWithFactory() {
+        assertSame(Color.GREEN, f.get(Color.class).apply("GREEN"));
+        assertSame(Color.GREEN, f.parse(Color.class, "grn"));
+    }
+
+    @Test
+    void doesNotParseMissingWithFactory() {
+        assertThrows(IllegalArgumentException.class, () -> f.get(Color.class).apply("green"));
+    }
+}
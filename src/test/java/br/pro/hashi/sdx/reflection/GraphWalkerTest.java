@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.copier.Branch;
+import br.pro.hashi.sdx.reflection.example.copier.Node;
+import br.pro.hashi.sdx.reflection.example.copier.Tags;
+import br.pro.hashi.sdx.reflection.example.copier.Tally;
+import br.pro.hashi.sdx.reflection.example.path.Address;
+import br.pro.hashi.sdx.reflection.example.path.Status;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphWalkerTest {
+    private GraphWalker w;
+
+    @BeforeEach
+    void setUp() {
+        w = new GraphWalker(new ModelFactory(new Reflector()));
+    }
+
+    @Test
+    void estimatesShallowSize() {
+        assertEquals(0, w.getShallowSize(null));
+        assertEquals(24, w.getShallowSize(new Address()));
+        assertEquals(40, w.getShallowSize(new Node()));
+        assertEquals(32, w.getShallowSize(new int[3]));
+        assertEquals(24, w.getShallowSize(new Object[2]));
+        assertEquals(w.getShallowSize(""), w.getShallowSize("a") - 8);
+    }
+
+    @Test
+    void estimatesStringSize() {
+        assertEquals(w.getShallowSize("aaaaa"), w.getShallowSize("\u00e9\u00e9\u00e9\u00e9\u00e9"));
+        assertEquals(w.getShallowSize("aaaaa") + 8, w.getShallowSize("\u03c8\u03c8\u03c8\u03c8\u03c8"));
+    }
+
+    @Test
+    void walksCycles() {
+        Node a = new Node();
+        Node b = new Node();
+        a.next = b;
+        b.next = a;
+        a.children = new Node[]{a, b, null};
+        List<Object> visited = new ArrayList<>();
+        w.walk(a, Integer.MAX_VALUE, (instance, depth) -> visited.add(instance));
+        assertEquals(7, visited.size());
+        assertSame(a, visited.get(0));
+        assertEquals(40 * 2 + 32 + 24 * 2 + 48 * 2, w.getRetainedSize(a));
+    }
+
+    @Test
+    void walksUpToDepth() {
+        Node a = new Node();
+        a.next = new Node();
+        a.next.next = new Node();
+        a.next.next.next = new Node();
+        List<Integer> depths = new ArrayList<>();
+        w.walk(a, 1, (instance, depth) -> depths.add(depth));
+        assertEquals(List.of(0, 1, 1, 1), depths);
+        assertThrows(IllegalArgumentException.class, () -> w.walk(a, -1, (instance, depth) -> {
+        }));
+    }
+
+    @Test
+    void walksContainers() {
+        Node a = new Node();
+        Node b = new Node();
+        a.list = null;
+        a.map = null;
+        b.list = null;
+        b.map = null;
+        Node root = new Node();
+        root.list.add(a);
+        root.map.put("b", b);
+        List<Object> visited = new ArrayList<>();
+        w.walk(root, Integer.MAX_VALUE, (instance, depth) -> visited.add(instance));
+        assertTrue(visited.contains(a));
+        assertTrue(visited.contains(b));
+        assertTrue(visited.contains("b"));
+    }
+
+    @Test
+    void walksInaccessibleSubclasses() {
+        Node a = new Node();
+        a.list = null;
+        a.map = null;
+        Tags tags = new Tags();
+        tags.add("tag");
+        Node root = new Node();
+        root.shared = tags;
+        root.next = a;
+        Tally tally = new Tally();
+        a.shared = tally;
+        List<Object> visited = new ArrayList<>();
+        w.walk(root, Integer.MAX_VALUE, (instance, depth) -> visited.add(instance));
+        assertTrue(visited.contains(tags));
+        assertTrue(visited.contains("tag"));
+        assertTrue(visited.contains(tally));
+        assertTrue(w.getRetainedSize(root) > 0);
+    }
+
+    @Test
+    void skipsShared() {
+        Node a = new Node();
+        a.list = null;
+        a.map = null;
+        a.shared = Status.ACTIVE;
+        assertEquals(40, w.getRetainedSize(a));
+        a.shared = Node.class;
+        assertEquals(40, w.getRetainedSize(a));
+    }
+
+    @Test
+    void skipsExcluded() {
+        Node a = new Node();
+        a.list = null;
+        a.map = null;
+        a.shared = new Address();
+        a.next = new Node();
+        a.next.list = null;
+        a.next.map = null;
+        assertEquals(40 * 2 + 24, w.getRetainedSize(a));
+        w.setExcluded(Address.class);
+        assertEquals(40 * 2, w.getRetainedSize(a));
+        w.setExcluded(Node.class, "next");
+        assertEquals(40, w.getRetainedSize(a));
+    }
+
+    @Test
+    void skipsInheritedExcluded() {
+        Branch branch = new Branch();
+        branch.list = null;
+        branch.map = null;
+        branch.next = new Node();
+        branch.next.list = null;
+        branch.next.map = null;
+        branch.next.next = new Node();
+        branch.next.next.list = null;
+        branch.next.next.map = null;
+        long size = w.getShallowSize(branch);
+        assertEquals(size + 40 * 2, w.getRetainedSize(branch));
+        w.setExcluded(Branch.class, "next");
+        assertEquals(size, w.getRetainedSize(branch));
+        assertEquals(40 * 2, w.getRetainedSize(branch.next));
+    }
+
+    @Test
+    void doesNotSetMissingExcluded() {
+        assertThrows(ReflectionException.class, () -> w.setExcluded(Node.class, "missing"));
+        assertThrows(ReflectionException.class, () -> w.setExcluded(Node.class, "extra"));
+        assertDoesNotThrow(() -> w.setExcluded(Branch.class, "extra"));
+    }
+}
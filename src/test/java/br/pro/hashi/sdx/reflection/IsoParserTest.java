@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoParserTest {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "123e4567-e89b-12d3-a456-426614174000",
+            "FFFFFFFF-FFFF-FFFF-FFFF-FFFFFFFFFFFF",
+            "00000000-0000-0000-0000-000000000000",
+            "1-2-3-4-5"})
+    void parsesUuid(String value) {
+        assertEquals(UUID.fromString(value), IsoParser.parseUuid(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "123e4567-e89b-12d3-a456-42661417400g",
+            "123e4567+e89b-12d3-a456-426614174000",
+            ""})
+    void doesNotParseUuid(String value) {
+        assertThrows(IllegalArgumentException.class, () -> IsoParser.parseUuid(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29",
+            "0001-01-01",
+            "+12024-01-01"})
+    void parsesLocalDate(String value) {
+        assertEquals(LocalDate.parse(value), IsoParser.parseLocalDate(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2023-02-29",
+            "2024-13-01",
+            "2024-1-01",
+            "2024/01/01"})
+    void doesNotParseLocalDate(String value) {
+        assertThrows(DateTimeParseException.class, () -> IsoParser.parseLocalDate(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29T10:15",
+            "2024-02-29T10:15:30",
+            "2024-02-29T10:15:30.5",
+            "2024-02-29T10:15:30.123456789",
+            "2024-02-29T10:15:30.",
+            "2024-02-29t10:15:30"})
+    void parsesLocalDateTime(String value) {
+        assertEquals(LocalDateTime.parse(value), IsoParser.parseLocalDateTime(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29T24:00",
+            "2024-02-29T10:15:30.1234567890",
+            "2024-02-29"})
+    void doesNotParseLocalDateTime(String value) {
+        assertThrows(DateTimeParseException.class, () -> IsoParser.parseLocalDateTime(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29T10:15Z",
+            "2024-02-29T10:15:30Z",
+            "2024-02-29T10:15:30.25+01:00",
+            "2024-02-29T10:15:30-03:30",
+            "2024-02-29T10:15:30+18:00",
+            "2024-02-29T10:15:30+01:00:30"})
+    void parsesOffsetDateTime(String value) {
+        assertEquals(OffsetDateTime.parse(value), IsoParser.parseOffsetDateTime(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29T10:15:30+19:00",
+            "2024-02-29T10:15:30"})
+    void doesNotParseOffsetDateTime(String value) {
+        assertThrows(DateTimeParseException.class, () -> IsoParser.parseOffsetDateTime(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29T10:15:30Z",
+            "2024-02-29T10:15:30.123Z",
+            "1969-12-31T23:59:59.999999999Z",
+            "2024-02-29T10:15:30-03:00",
+            "2024-02-29T23:59:60Z"})
+    void parsesInstant(String value) {
+        assertEquals(Instant.parse(value), IsoParser.parseInstant(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-02-29T10:15Z",
+            "2024-02-29T10:15:30"})
+    void doesNotParseInstant(String value) {
+        assertThrows(DateTimeParseException.class, () -> IsoParser.parseInstant(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "PT0S",
+            "PT15M",
+            "PT1H30M",
+            "P2D",
+            "P2DT3H4M5.5S",
+            "-PT1.000000001S",
+            "PT-5S",
+            "pt1h",
+            "PT1234567890S"})
+    void parsesDuration(String value) {
+        assertEquals(Duration.parse(value), IsoParser.parseDuration(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "P",
+            "PT",
+            "P1DT",
+            "PT1S1M",
+            "PT1.5M",
+            "1H"})
+    void doesNotParseDuration(String value) {
+        assertThrows(DateTimeParseException.class, () -> IsoParser.parseDuration(value));
+    }
+
+    @Test
+    void parsesWithFactory() {
+        ParserFactory f = new ParserFactory(new Reflector());
+        assertEquals(LocalDate.of(2024, 2, 29), f.get(LocalDate.class).apply("2024-02-29"));
+        assertEquals(Duration.ofMinutes(90), f.parse(Duration.class, "PT1H30M"));
+        byte[] bytes = " 2024-02-29T10:15:30Z ".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Instant.parse("2024-02-29T10:15:30Z"), f.parse(Instant.class, bytes, 1, bytes.length - 2));
+    }
+
+    @Test
+    void doesNotParseWithFactory() {
+        ParserFactory f = new ParserFactory(new Reflector());
+        assertThrows(DateTimeException.class, () -> f.get(LocalDate.class).apply("2024-02-30"));
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.lazy.Account;
+import br.pro.hashi.sdx.reflection.example.lazy.Customer;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.objenesis.instantiator.ObjectInstantiator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyLoaderTest {
+    private ClassModel<Account> model;
+    private LazyLoader<Account> l;
+
+    @BeforeEach
+    void setUp() {
+        model = new ModelFactory(new Reflector()).get(Account.class);
+        l = model.createLazyLoader();
+    }
+
+    @Test
+    void creates() {
+        assertNotSame(l, model.createLazyLoader());
+    }
+
+    @Test
+    void loadsFromGetter() {
+        Account account = new Account();
+        account.setId(2);
+        List<String> orders = account.getOrders();
+        assertEquals(List.of("order2"), orders);
+        assertTrue(l.isLoaded(account, model.getSlot("orders")));
+        assertSame(orders, account.getOrders());
+    }
+
+    @Test
+    void loadsFromGeneratedSubclass() throws ReflectiveOperationException {
+        AtomicInteger count = new AtomicInteger();
+        LazyLoader<Customer> loader = new ModelFactory(new Reflector()).get(Customer.class).createLazyLoader();
+        int slot = loader.register("orders", (customer) -> {
+            count.incrementAndGet();
+            return List.of("order" + customer.getId());
+        });
+        loader.register("owner", (customer) -> "owner");
+        ObjectInstantiator<Customer> instantiator = loader.getInstantiator();
+        assertSame(instantiator, loader.getInstantiator());
+        Customer customer = instantiator.newInstance();
+        assertNotSame(Customer.class, customer.getClass());
+        assertFalse(customer.getClass().isHidden());
+        customer.setId(3);
+        assertFalse(loader.isLoaded(customer, slot));
+        List<String> orders = customer.getOrders();
+        assertEquals(List.of("order3"), orders);
+        assertTrue(loader.isLoaded(customer, slot));
+        assertSame(orders, customer.getOrders());
+        assertEquals(1, count.get());
+        Method getter = Customer.class.getDeclaredMethod("getOwner");
+        getter.setAccessible(true);
+        assertEquals("owner", getter.invoke(customer));
+        ReflectionException exception = assertThrows(ReflectionException.class, () -> loader.register("orders", (value) -> List.of()));
+        assertTrue(exception.getMessage().contains("after the subclass is generated"));
+    }
+
+    @Test
+    void doesNotGenerateWithoutGetter() {
+        l.register("owner", (account) -> "owner");
+        assertThrows(ReflectionException.class, () -> l.getInstantiator());
+    }
+
+    @Test
+    void registersIndependently() {
+        LazyLoader<Account> other = model.createLazyLoader();
+        int slot = l.register("owner", (account) -> "first");
+        other.register("owner", (account) -> "second");
+        assertEquals("first", l.get(new Account(), slot));
+        assertEquals("second", other.get(new Account(), slot));
+    }
+
+    @Test
+    void loadsOnce() {
+        AtomicInteger count = new AtomicInteger();
+        int slot = l.register("orders", (account) -> {
+            count.incrementAndGet();
+            return List.of("order" + account.getId());
+        });
+        Account account = new Account();
+        account.setId(1);
+        assertFalse(l.isLoaded(account, slot));
+        List<String> orders = l.get(account, slot);
+        assertEquals(List.of("order1"), orders);
+        assertTrue(l.isLoaded(account, slot));
+        assertSame(orders, l.get(account, slot));
+        assertSame(orders, model.getValue(account, slot));
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    void loadsAgainAfterReset() {
+        AtomicInteger count = new AtomicInteger();
+        int slot = l.register("owner", (account) -> "owner" + count.incrementAndGet());
+        Account account = new Account();
+        assertEquals("owner1", l.get(account, slot));
+        l.reset(account, slot);
+        assertFalse(l.isLoaded(account, slot));
+        assertEquals("owner2", l.get(account, slot));
+    }
+
+    @Test
+    void loadsAgainAfterNull() {
+        AtomicInteger count = new AtomicInteger();
+        int slot = l.register("owner", (account) -> {
+            count.incrementAndGet();
+            return null;
+        });
+        Account account = new Account();
+        assertNull(l.get(account, slot));
+        assertNull(l.get(account, slot));
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    void loadsOnceConcurrently() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        int slot = l.register("owner", (account) -> {
+            count.incrementAndGet();
+            return "owner";
+        });
+        Account account = new Account();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    latch.await();
+                    return l.<String>get(account, slot);
+                }));
+            }
+            latch.countDown();
+            for (Future<String> future : futures) {
+                assertEquals("owner", future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    void loadsDifferentFieldsConcurrently() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        int ordersSlot = l.register("orders", (account) -> {
+            started.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException exception) {
+                throw new AssertionError(exception);
+            }
+            return List.of();
+        });
+        int ownerSlot = l.register("owner", (account) -> "owner");
+        Account account = new Account();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<String>> future = executor.submit(() -> l.<List<String>>get(account, ordersSlot));
+            started.await();
+            assertEquals("owner", l.get(account, ownerSlot));
+            assertEquals("owner", l.get(new Account(), ownerSlot));
+            released.countDown();
+            assertEquals(List.of(), future.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void loadsAgainAfterFailure() {
+        AtomicInteger count = new AtomicInteger();
+        int slot = l.register("owner", (account) -> {
+            if (count.incrementAndGet() == 1) {
+                throw new IllegalStateException();
+            }
+            return "owner";
+        });
+        Account account = new Account();
+        assertThrows(IllegalStateException.class, () -> l.get(account, slot));
+        assertEquals("owner", l.get(account, slot));
+    }
+
+    @Test
+    void doesNotLoadRecursively() {
+        int[] slots = new int[1];
+        slots[0] = l.register("owner", (account) -> l.get(account, slots[0]));
+        Account account = new Account();
+        assertThrows(ReflectionException.class, () -> l.get(account, slots[0]));
+        assertFalse(l.isLoaded(account, slots[0]));
+    }
+
+    @Test
+    void doesNotGetUnregistered() {
+        int slot = model.getSlot("orders");
+        Account account = new Account();
+        assertThrows(ReflectionException.class, () -> l.get(account, slot));
+    }
+
+    @Test
+    void doesNotRegister() {
+        assertThrows(ReflectionException.class, () -> l.register("missing", (account) -> null));
+        assertThrows(ReflectionException.class, () -> l.register("id", (account) -> 1));
+        assertThrows(ReflectionException.class, () -> l.register("name", (account) -> ""));
+        l.register("owner", (account) -> "");
+        assertThrows(ReflectionException.class, () -> l.register("owner", (account) -> ""));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.index.Listing;
+import br.pro.hashi.sdx.reflection.example.index.Overloads;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodIndexTest {
+    private MethodIndex<Overloads> i;
+
+    @BeforeEach
+    void setUp() {
+        Reflector reflector = new Reflector();
+        i = new ModelFactory(reflector).get(Overloads.class).getMethodIndex();
+    }
+
+    @Test
+    void indexes() {
+        assertEquals(Overloads.class, i.getType());
+        assertEquals(Set.of("twice", "sum", "describe", "box", "widen", "pair", "secret", "inherited", "greet"), i.getNames());
+        assertEquals(3, i.getMethods("describe").size());
+        assertEquals(2, i.getMethods("sum").size());
+        assertTrue(i.getMethods("missing").isEmpty());
+    }
+
+    @Test
+    void replacesOverridden() {
+        for (Method method : i.getMethods("describe")) {
+            assertEquals(Overloads.class, method.getDeclaringClass());
+        }
+    }
+
+    @Test
+    void findsMostSpecific() throws Throwable {
+        Overloads instance = new Overloads();
+        assertEquals("string", invoke("describe", instance, "a"));
+        assertEquals("sequence", invoke("describe", instance, new StringBuilder()));
+        assertEquals("object", invoke("describe", instance, 1));
+        assertEquals("string", (String) i.findHandle("describe", (Class<?>) null).invoke(instance, null));
+        assertEquals(3, (int) i.findHandle("sum", Integer.class, int.class).invoke(instance, 1, 2));
+        assertEquals(long.class, i.find("sum", Long.class, Long.class).getParameterTypes()[0]);
+        assertEquals(4, (int) i.findHandle("twice", Integer.class).invoke(2));
+        assertEquals("inherited", invoke("inherited", instance));
+        assertEquals("secret", invoke("secret", instance));
+    }
+
+    @Test
+    void findsWithoutBoxingFirst() throws Throwable {
+        Overloads instance = new Overloads();
+        assertEquals(int.class, i.find("box", int.class).getParameterTypes()[0]);
+        assertEquals(Integer.class, i.find("box", Integer.class).getParameterTypes()[0]);
+        assertEquals(Integer.class, i.find("box", (Class<?>) null).getParameterTypes()[0]);
+        assertEquals("primitive", (String) i.findHandle("box", short.class).invoke(instance, (short) 1));
+        assertEquals(int.class, i.find("sum", int.class, int.class).getParameterTypes()[0]);
+        assertEquals(long.class, i.find("sum", int.class, long.class).getParameterTypes()[0]);
+    }
+
+    @Test
+    void findsWithWidening() throws Throwable {
+        Overloads instance = new Overloads();
+        assertEquals(1L, (long) i.findHandle("widen", int.class).invoke(instance, 1));
+        assertEquals(1L, (long) i.findHandle("widen", char.class).invoke(instance, (char) 1));
+        assertEquals(1L, (long) i.findHandle("widen", Integer.class).invoke(instance, 1));
+        assertThrows(ReflectionException.class, () -> i.find("widen", double.class));
+        assertThrows(ReflectionException.class, () -> i.find("widen", Double.class));
+        assertThrows(ReflectionException.class, () -> i.find("widen", boolean.class));
+    }
+
+    @Test
+    void skipsInaccessible() {
+        MethodIndex<Listing> index = new ModelFactory(new Reflector()).get(Listing.class).getMethodIndex();
+        assertTrue(index.getNames().contains("iterator"));
+        assertTrue(index.getNames().contains("toArray"));
+        assertFalse(index.getNames().contains("finishToArray"));
+    }
+
+    @Test
+    void findsDefaultMethods() throws Throwable {
+        Overloads instance = new Overloads();
+        assertEquals("hello", invoke("greet", instance));
+        assertEquals("inherited", invoke("inherited", instance));
+        assertEquals(1, i.getMethods("inherited").size());
+    }
+
+    @Test
+    void findsInNestedOfNonPublic() throws Throwable {
+        Class<?> type = Class.forName("br.pro.hashi.sdx.reflection.example.index.Enclosing$Nested");
+        MethodIndex<?> index = new ModelFactory(new Reflector()).get(type).getMethodIndex();
+        Constructor<?> constructor = type.getConstructor();
+        constructor.setAccessible(true);
+        assertEquals("visible", index.findHandle("visible").invoke(constructor.newInstance()));
+    }
+
+    @Test
+    void cachesManyResolutions() {
+        Class<?>[] types = {Object.class, String.class, StringBuilder.class, StringBuffer.class, Integer.class, Long.class,
+                Short.class, Byte.class, Double.class, Float.class, Character.class, Boolean.class, Thread.class,
+                Number.class, Class.class, Overloads.class, Set.class, List.class, Method.class, Constructor.class};
+        for (int k = 0; k < 2; k++) {
+            for (Class<?> type : types) {
+                Class<?> expected = CharSequence.class.isAssignableFrom(type) ? (type == String.class ? String.class : CharSequence.class) : Object.class;
+                assertEquals(expected, i.find("describe", type).getParameterTypes()[0]);
+                assertSame(i.findHandle("describe", type), i.findHandle("describe", type));
+            }
+        }
+    }
+
+    @Test
+    void cachesResolution() {
+        MethodHandle handle = i.findHandle("describe", String.class);
+        assertSame(handle, i.findHandle("describe", String.class));
+        assertNotSame(handle, i.findHandle("describe", Object.class));
+    }
+
+    @Test
+    void doesNotFindInapplicable() {
+        assertThrows(ReflectionException.class, () -> i.find("missing"));
+        assertThrows(ReflectionException.class, () -> i.find("sum", Integer.class));
+        assertThrows(ReflectionException.class, () -> i.find("sum", String.class, String.class));
+        assertThrows(ReflectionException.class, () -> i.find("twice", (Class<?>) null));
+    }
+
+    @Test
+    void doesNotFindAmbiguous() {
+        assertThrows(ReflectionException.class, () -> i.find("pair", Integer.class, Integer.class));
+        assertEquals("left", assertDoesNotThrow(() -> invoke("pair", new Overloads(), 1, "b")));
+    }
+
+    private Object invoke(String name, Object instance, Object... args) throws Throwable {
+        Class<?>[] argumentTypes = new Class<?>[args.length];
+        Object[] handleArgs = new Object[args.length + 1];
+        handleArgs[0] = instance;
+        for (int k = 0; k < args.length; k++) {
+            argumentTypes[k] = args[k].getClass();
+            handleArgs[k + 1] = args[k];
+        }
+        return i.findHandle(name, argumentTypes).invokeWithArguments(handleArgs);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.model.Child;
+import br.pro.hashi.sdx.reflection.example.model.Listing;
+import br.pro.hashi.sdx.reflection.example.model.Point;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelFactoryTest {
+    private ModelFactory f;
+
+    @BeforeEach
+    void setUp() {
+        f = new ModelFactory(new Reflector());
+    }
+
+    @Test
+    void gets() {
+        ClassModel<Child> model = f.get(Child.class);
+        assertSame(model, f.get(Child.class));
+        assertEquals(Child.class, model.getType());
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {
+            Override.class,
+            int[].class,
+            List.class,
+            int.class})
+    void doesNotGet(Class<?> type) {
+        assertThrows(ReflectionException.class, () -> f.get(type));
+    }
+
+    @Test
+    void doesNotGetWithInaccessibleSuperclass() {
+        ReflectionException exception = assertThrows(ReflectionException.class, () -> f.get(Listing.class));
+        assertTrue(exception.getMessage().contains("modCount"));
+    }
+
+    @Test
+    void flattensHierarchy() {
+        ClassModel<Child> model = f.get(Child.class);
+        assertEquals(5, model.size());
+        assertEquals("id", model.getName(0));
+        assertEquals("name", model.getName(1));
+        assertEquals("code", model.getName(2));
+        assertEquals("name", model.getName(3));
+        assertEquals("amount", model.getName(4));
+        assertEquals(int.class, model.getFieldType(0));
+        assertEquals(String.class, model.getGenericType(1));
+        assertTrue(Modifier.isFinal(model.getModifiers(2)));
+        assertEquals(Child.class, model.getField(4).getDeclaringClass());
+    }
+
+    @Test
+    void findsSlots() {
+        ClassModel<Child> model = f.get(Child.class);
+        assertEquals(0, model.indexOf("id"));
+        assertEquals(3, model.indexOf("name"));
+        assertEquals(4, model.getSlot("amount"));
+        assertEquals(-1, model.indexOf("count"));
+        assertThrows(ReflectionException.class, () -> model.getSlot("missing"));
+    }
+
+    @Test
+    void getsAndSetsValues() {
+        ClassModel<Child> model = f.get(Child.class);
+        Child instance = new Child();
+        model.setValue(instance, 0, 2);
+        model.setValue(instance, 1, "parent");
+        model.setValue(instance, 2, 3L);
+        model.setValue(instance, 3, "child");
+        assertEquals(2, instance.getId());
+        assertEquals("parent", instance.getParentName());
+        assertEquals(3L, instance.getCode());
+        assertEquals("child", instance.getChildName());
+        assertEquals(2, (int) model.getValue(instance, 0));
+        assertEquals("child", model.getValue(instance, 3));
+    }
+
+    @Test
+    void doesNotSetRecordValue() {
+        ClassModel<Point> model = f.get(Point.class);
+        Point instance = new Point(1, 2);
+        assertNull(model.getSetter(0));
+        assertEquals(2, (int) model.getValue(instance, 1));
+        assertThrows(ReflectionException.class, () -> model.setValue(instance, 0, 3));
+    }
+}
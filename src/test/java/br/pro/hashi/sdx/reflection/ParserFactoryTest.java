@@ -23,9 +23,12 @@ import org.mockito.MockitoAnnotations;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -150,6 +153,153 @@ class ParserFactoryTest {
         assertThrows(RuntimeException.class, () -> parser.apply("s"));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"true", "TRUE", "True"})
+    void getsAndAppliesPrimitiveBooleanParser(String valueString) {
+        assertTrue(f.getBooleanParser(boolean.class).test(new StringBuilder(valueString)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"false", "", "yes", "truth"})
+    void getsAndAppliesPrimitiveBooleanParserToFalse(String valueString) {
+        assertFalse(f.getBooleanParser(Boolean.class).test(valueString));
+    }
+
+    @Test
+    void getsAndAppliesPrimitiveIntParsers() {
+        assertEquals(-128, f.getIntParser(byte.class).applyAsInt("-128"));
+        assertEquals(1000, f.getIntParser(Short.class).applyAsInt(new StringBuilder("1000")));
+        assertEquals(123456, f.getIntParser(int.class).applyAsInt("123456"));
+        assertEquals('c', f.getIntParser(char.class).applyAsInt("c"));
+    }
+
+    @Test
+    void doesNotApplyPrimitiveIntParsersOutOfRange() {
+        assertThrows(NumberFormatException.class, () -> f.getIntParser(byte.class).applyAsInt("128"));
+        assertThrows(NumberFormatException.class, () -> f.getIntParser(short.class).applyAsInt("-32769"));
+        assertThrows(NumberFormatException.class, () -> f.getIntParser(int.class).applyAsInt("a"));
+        assertThrows(IllegalArgumentException.class, () -> f.getIntParser(char.class).applyAsInt("cc"));
+        assertThrows(IllegalArgumentException.class, () -> f.getIntParser(Character.class).applyAsInt(""));
+    }
+
+    @Test
+    void getsAndAppliesPrimitiveLongParser() {
+        assertEquals(1L << 40, f.getLongParser(long.class).applyAsLong(new StringBuilder(Long.toString(1L << 40))));
+    }
+
+    @Test
+    void getsAndAppliesPrimitiveDoubleParsers() {
+        assertEquals(5.5, f.getDoubleParser(float.class).applyAsDouble("5.5"));
+        assertEquals(6.6, f.getDoubleParser(Double.class).applyAsDouble(new StringBuilder("6.6")));
+    }
+
+    @Test
+    void doesNotGetPrimitiveParsers() {
+        assertThrows(ReflectionException.class, () -> f.getIntParser(long.class));
+        assertThrows(ReflectionException.class, () -> f.getLongParser(int.class));
+        assertThrows(ReflectionException.class, () -> f.getDoubleParser(String.class));
+        assertThrows(ReflectionException.class, () -> f.getBooleanParser(int.class));
+    }
+
+    @Test
+    void getsAndAppliesSequenceParsers() {
+        Function<CharSequence, Integer> parser = f.getSequenceParser(int.class);
+        assertSame(parser, f.getSequenceParser(int.class));
+        assertEquals(3, parser.apply(new StringBuilder("3")));
+        assertEquals((byte) 1, f.parse(Byte.class, "1"));
+        assertEquals((short) 2, f.parse(short.class, "2"));
+        assertEquals(4L, f.parse(long.class, "4"));
+        assertEquals(5.5F, f.parse(float.class, "5.5"));
+        assertEquals(6.6, f.parse(Double.class, "6.6"));
+        assertEquals('c', f.parse(char.class, "c"));
+        assertTrue(f.parse(boolean.class, "true"));
+        assertEquals("s", f.parse(String.class, new StringBuilder("s")));
+        assertEquals(BigDecimal.valueOf(8.8), f.parse(BigDecimal.class, "8.8"));
+        assertInstanceOf(DefaultMethod.class, f.parse(DefaultMethod.class, "s"));
+    }
+
+    @Test
+    void parsesBytes() {
+        byte[] bytes = "x12345y".getBytes(StandardCharsets.UTF_8);
+        assertEquals(234, f.parse(int.class, bytes, 2, 3));
+        assertEquals(12345L, f.parse(Long.class, bytes, 1, 5));
+        assertEquals("x1", f.parse(String.class, bytes, 0, 2));
+        byte[] utf8 = "aé".getBytes(StandardCharsets.UTF_8);
+        assertEquals('é', f.parse(char.class, utf8, 1, 2));
+        assertEquals("aé", f.parse(String.class, utf8, 0, utf8.length));
+        assertThrows(IndexOutOfBoundsException.class, () -> f.parse(int.class, bytes, 5, 3));
+        assertThrows(NumberFormatException.class, () -> f.parse(int.class, bytes, 0, 3));
+    }
+
+    @Test
+    void parsesBuffers() {
+        ByteBuffer buffer = ByteBuffer.wrap("x-12.5".getBytes(StandardCharsets.UTF_8));
+        buffer.position(1);
+        assertEquals(-12.5, f.parse(double.class, buffer));
+        assertEquals(1, buffer.position());
+        buffer.limit(4);
+        assertEquals(-12, f.parse(int.class, buffer));
+        ByteBuffer direct = ByteBuffer.allocateDirect(8);
+        direct.put("héllo".getBytes(StandardCharsets.UTF_8)).flip();
+        assertEquals("héllo", f.parse(String.class, direct));
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    void viewsBytes() {
+        byte[] bytes = "[42]".getBytes(StandardCharsets.US_ASCII);
+        CharSequence view = f.view(bytes, 1, 2);
+        assertEquals(42, f.getIntParser(int.class).applyAsInt(view));
+        assertEquals("42", view.toString());
+        assertEquals("2", view.subSequence(1, 2).toString());
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, 2);
+        assertEquals(42L, f.getLongParser(long.class).applyAsLong(f.view(buffer)));
+        assertEquals("4", f.view(buffer).subSequence(0, 1).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.charAt(2));
+    }
+
+    @Test
+    void getsAndInvokesInvoker() throws Throwable {
+        Method method = getHandlerMethod("handle", int.class, long.class, String.class, BigDecimal.class, char.class, boolean.class);
+        MethodHandle invoker = f.getInvoker(method);
+        assertSame(invoker, f.getInvoker(method));
+        assertEquals(MethodType.methodType(String.class, Handler.class, String.class, String.class, String.class, String.class, String.class, String.class), invoker.type());
+        String value = (String) invoker.invokeExact(new Handler(), "1", "2", "s", "3.5", "c", "true");
+        assertEquals("1 2 s 3.5 c true", value);
+    }
+
+    @Test
+    void getsAndInvokesStaticInvoker() throws Throwable {
+        MethodHandle invoker = f.getInvoker(getHandlerMethod("twice", int.class));
+        int value = (int) invoker.invokeExact("3");
+        assertEquals(6, value);
+    }
+
+    @Test
+    void getsAndInvokesCustomInvoker() throws Throwable {
+        MethodHandle invoker = f.getInvoker(getHandlerMethod("custom", DefaultMethod.class));
+        boolean value = (boolean) invoker.invokeExact(new Handler(), "s");
+        assertTrue(value);
+    }
+
+    @Test
+    void doesNotInvokeInvalid() {
+        MethodHandle invoker = f.getInvoker(getHandlerMethod("twice", int.class));
+        assertThrows(NumberFormatException.class, () -> {
+            int value = (int) invoker.invokeExact("a");
+        });
+    }
+
+    @Test
+    void doesNotGetInvoker() {
+        Method method = getHandlerMethod("missing", MissingMethod.class);
+        assertThrows(ReflectionException.class, () -> f.getInvoker(method));
+    }
+
+    private Method getHandlerMethod(String name, Class<?>... parameterTypes) {
+        return assertDoesNotThrow(() -> Handler.class.getDeclaredMethod(name, parameterTypes));
+    }
+
     @Test
     void doesNotInvokeChecked() {
         MethodHandle handle = assertDoesNotThrow(() -> {
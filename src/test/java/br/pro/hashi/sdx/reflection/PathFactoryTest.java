@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.path.Address;
+import br.pro.hashi.sdx.reflection.example.path.Customer;
+import br.pro.hashi.sdx.reflection.example.path.Order;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.invoke.MethodType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathFactoryTest {
+    private PathFactory f;
+
+    @BeforeEach
+    void setUp() {
+        Reflector reflector = new Reflector();
+        f = new PathFactory(reflector, new ModelFactory(reflector));
+    }
+
+    @Test
+    void gets() {
+        PropertyPath<Order> path = f.get(Order.class, "customer.address.city");
+        assertSame(path, f.get(Order.class, "customer.address.city"));
+        assertNotSame(path, f.get(Order.class, "customer.address.city", true));
+        assertEquals(Order.class, path.getRootType());
+        assertEquals("customer.address.city", path.getPath());
+        assertEquals(String.class, path.getType());
+        assertFalse(path.isNullSafe());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "missing",
+            "customer.missing",
+            "customer..city",
+            "id.value",
+            ""})
+    void doesNotGet(String path) {
+        assertThrows(ReflectionException.class, () -> f.get(Order.class, path));
+    }
+
+    @Test
+    void reads() {
+        Order order = mockOrder();
+        PropertyPath<Order> path = f.get(Order.class, "customer.address.number");
+        assertEquals(MethodType.methodType(int.class, Order.class), path.getGetter().type());
+        int number = path.get(order);
+        assertEquals(10, number);
+        assertEquals("city", f.get(Order.class, "customer.address.city").get(order));
+    }
+
+    @Test
+    void doesNotReadThroughNull() {
+        Order order = new Order();
+        PropertyPath<Order> path = f.get(Order.class, "customer.address.city");
+        assertThrows(NullPointerException.class, () -> path.get(order));
+    }
+
+    @Test
+    void readsThroughNullSafely() {
+        Order order = new Order();
+        order.customer = new Customer();
+        PropertyPath<Order> path = f.get(Order.class, "customer.address.number", true);
+        assertEquals(MethodType.methodType(Integer.class, Order.class), path.getGetter().type());
+        assertNull(path.get(order));
+        assertNull(path.get(null));
+        assertEquals(10, (int) path.get(mockOrder()));
+    }
+
+    @Test
+    void writesCreatingIntermediates() {
+        Order order = new Order();
+        PropertyPath<Order> path = f.get(Order.class, "customer.address.number");
+        path.set(order, 20);
+        assertEquals(20, order.customer.address.number);
+        Address address = order.customer.address;
+        f.get(Order.class, "customer.address.city").set(order, "other");
+        assertSame(address, order.customer.address);
+        assertEquals("other", address.city);
+    }
+
+    @Test
+    void doesNotWriteWrongType() {
+        Order order = new Order();
+        PropertyPath<Order> path = f.get(Order.class, "customer.name");
+        assertThrows(ClassCastException.class, () -> path.set(order, 1));
+    }
+
+    private Order mockOrder() {
+        Address address = new Address();
+        address.city = "city";
+        address.number = 10;
+        Customer customer = new Customer();
+        customer.address = address;
+        Order order = new Order();
+        order.customer = customer;
+        return order;
+    }
+}
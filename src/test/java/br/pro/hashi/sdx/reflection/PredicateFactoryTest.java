@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.path.Address;
+import br.pro.hashi.sdx.reflection.example.path.Customer;
+import br.pro.hashi.sdx.reflection.example.path.Order;
+import br.pro.hashi.sdx.reflection.example.path.Player;
+import br.pro.hashi.sdx.reflection.example.path.Status;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static br.pro.hashi.sdx.reflection.Criterion.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredicateFactoryTest {
+    private PredicateFactory f;
+
+    @BeforeEach
+    void setUp() {
+        Reflector reflector = new Reflector();
+        ModelFactory modelFactory = new ModelFactory(reflector);
+        f = new PredicateFactory(reflector, new PathFactory(reflector, modelFactory), new ParserFactory(reflector));
+    }
+
+    @Test
+    void gets() {
+        Predicate<Order> predicate = f.get(Order.class, eq("id", "1"));
+        assertSame(predicate, f.get(Order.class, eq("id", "1")));
+        assertNotSame(predicate, f.get(Order.class, eq("id", "2")));
+    }
+
+    @Test
+    void doesNotGetMissing() {
+        assertThrows(ReflectionException.class, () -> f.get(Order.class, eq("missing", "1")));
+    }
+
+    @Test
+    void doesNotGetUnparseable() {
+        assertThrows(ReflectionException.class, () -> f.get(Order.class, eq("customer", "1")));
+    }
+
+    @Test
+    void doesNotGetInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> f.get(Order.class, eq("id", "a")));
+    }
+
+    @Test
+    void comparesExtremeComparisons() {
+        Player low = new Player(1, 1);
+        Player high = new Player(2, 3);
+        Predicate<Player> lt = f.get(Player.class, lt("rank", "2"));
+        Predicate<Player> gt = f.get(Player.class, gt("rank", "2"));
+        assertTrue(lt.test(low));
+        assertFalse(lt.test(high));
+        assertFalse(gt.test(low));
+        assertTrue(gt.test(high));
+    }
+
+    @Test
+    void comparesPrimitive() {
+        Order order = mockOrder(1, 150.0, Status.ACTIVE, "city");
+        assertTrue(f.get(Order.class, eq("id", "1")).test(order));
+        assertFalse(f.get(Order.class, ne("id", "1")).test(order));
+        assertTrue(f.get(Order.class, gt("amount", "100")).test(order));
+        assertTrue(f.get(Order.class, ge("amount", "150")).test(order));
+        assertFalse(f.get(Order.class, lt("amount", "150")).test(order));
+        assertTrue(f.get(Order.class, le("amount", "150")).test(order));
+    }
+
+    @Test
+    void comparesObject() {
+        Order order = mockOrder(1, 0.0, Status.INACTIVE, "city");
+        assertTrue(f.get(Order.class, eq("status", "INACTIVE")).test(order));
+        assertTrue(f.get(Order.class, gt("status", "ACTIVE")).test(order));
+        assertFalse(f.get(Order.class, lt("customer.address.city", "a")).test(order));
+        assertTrue(f.get(Order.class, ge("customer.address.city", "city")).test(order));
+    }
+
+    @Test
+    void doesNotMatchNull() {
+        Order order = mockOrder(1, 0.0, null, null);
+        assertFalse(f.get(Order.class, eq("status", "ACTIVE")).test(order));
+        assertFalse(f.get(Order.class, ne("status", "ACTIVE")).test(order));
+        assertFalse(f.get(Order.class, eq("customer.address.city", "city")).test(order));
+        order.customer = null;
+        assertFalse(f.get(Order.class, ge("customer.address.number", "0")).test(order));
+        assertTrue(f.get(Order.class, not(ge("customer.address.number", "0"))).test(order));
+    }
+
+    @Test
+    void testsMembership() {
+        Order order = mockOrder(3, 2.5, Status.ACTIVE, "b");
+        assertTrue(f.get(Order.class, in("id", "5", "3", "1")).test(order));
+        assertFalse(f.get(Order.class, in("id", "2", "4")).test(order));
+        assertTrue(f.get(Order.class, in("amount", "2.5")).test(order));
+        assertTrue(f.get(Order.class, in("status", "ACTIVE", "INACTIVE")).test(order));
+        assertFalse(f.get(Order.class, in("customer.address.city", "a", "c")).test(order));
+        assertFalse(f.get(Order.class, in("id")).test(order));
+    }
+
+    @Test
+    void combines() {
+        Order a = mockOrder(1, 150.0, Status.ACTIVE, "city");
+        Order b = mockOrder(2, 50.0, Status.ACTIVE, "city");
+        Order c = mockOrder(3, 150.0, Status.INACTIVE, "city");
+        Predicate<Order> predicate = f.get(Order.class, and(eq("status", "ACTIVE"), gt("amount", "100")));
+        assertEquals(List.of(a), List.of(a, b, c).stream().filter(predicate).toList());
+        predicate = f.get(Order.class, or(eq("id", "2"), eq("id", "3"), eq("id", "4")));
+        assertEquals(List.of(b, c), List.of(a, b, c).stream().filter(predicate).toList());
+        predicate = f.get(Order.class, not(and(eq("status", "ACTIVE"), gt("amount", "100"), eq("id", "1"))));
+        assertEquals(List.of(b, c), List.of(a, b, c).stream().filter(predicate).toList());
+        assertTrue(f.get(Order.class, and()).test(a));
+        assertFalse(f.get(Order.class, or()).test(a));
+    }
+
+    private Order mockOrder(long id, double amount, Status status, String city) {
+        Address address = new Address();
+        address.city = city;
+        Customer customer = new Customer();
+        customer.address = address;
+        Order order = new Order();
+        order.id = id;
+        order.amount = amount;
+        order.status = status;
+        order.customer = customer;
+        return order;
+    }
+}
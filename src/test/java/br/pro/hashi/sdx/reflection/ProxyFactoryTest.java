@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.proxy.Catalog;
+import br.pro.hashi.sdx.reflection.example.proxy.Finder;
+import br.pro.hashi.sdx.reflection.example.proxy.Incomplete;
+import br.pro.hashi.sdx.reflection.example.proxy.Label;
+import br.pro.hashi.sdx.reflection.example.proxy.Repository;
+import br.pro.hashi.sdx.reflection.example.proxy.Saver;
+import br.pro.hashi.sdx.reflection.example.proxy.Shelf;
+import br.pro.hashi.sdx.reflection.example.proxy.Store;
+import br.pro.hashi.sdx.reflection.example.proxy.StringSink;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProxyFactoryTest {
+    private Reflector reflector;
+    private ProxyFactory f;
+
+    @BeforeEach
+    void setUp() {
+        reflector = new Reflector();
+        f = new ProxyFactory(reflector, new ModelFactory(reflector), new Binder(reflector));
+    }
+
+    @Test
+    void creates() {
+        Store store = new Store();
+        Repository repository = f.create(Repository.class, store);
+        assertTrue(repository.getClass().isHidden());
+        assertFalse(Proxy.isProxyClass(repository.getClass()));
+        assertEquals("value 2", repository.find(2));
+        assertEquals(0, repository.count());
+        repository.save("a");
+        assertEquals(1, repository.count());
+        assertEquals("value 1", repository.findFirst());
+        assertEquals("store", repository.toString());
+    }
+
+    @Test
+    void createsGeneric() {
+        Store store = new Store();
+        Catalog catalog = f.create(Catalog.class, store);
+        catalog.save("a");
+        assertEquals(1, catalog.count());
+        assertEquals("value 1", catalog.find(1));
+        assertEquals(3.5, catalog.scale(1.5, 2));
+        assertThrows(ClassCastException.class, () -> f.<Saver<Object>>create(reflector.uncheckedCast(Catalog.class), store).save(1));
+    }
+
+    @Test
+    void createsGenericFunctional() {
+        Store store = new Store();
+        StringSink sink = f.create(StringSink.class, store);
+        sink.save("a");
+        assertEquals(1, store.count());
+    }
+
+    @Test
+    void createsWithDefaultAndInaccessibleTarget() {
+        Shelf shelf = new Shelf();
+        shelf.add("a");
+        Label label = f.create(Label.class, shelf);
+        assertEquals("named", label.name());
+        assertEquals(1, label.size());
+    }
+
+    @Test
+    void createsNonPublic() throws ClassNotFoundException {
+        Class<?> type = Class.forName("br.pro.hashi.sdx.reflection.example.proxy.Counter");
+        Object counter = f.create(type, new Store());
+        assertTrue(type.isInstance(counter));
+        assertEquals(type.getPackageName(), counter.getClass().getPackageName());
+        assertEquals("store", counter.toString());
+    }
+
+    @Test
+    void doesNotCreateNonPublicOutsideLookup() throws ClassNotFoundException {
+        Class<?> type = Class.forName("br.pro.hashi.sdx.reflection.example.proxy.Counter");
+        Store store = new Store();
+        reflector.setLookup(MethodHandles.lookup().dropLookupMode(MethodHandles.Lookup.PRIVATE));
+        assertThrows(ReflectionException.class, () -> f.create(type, store));
+    }
+
+    @Test
+    void createsWithIdentity() {
+        Repository repository = f.create(Repository.class, new Store());
+        Repository other = f.create(Repository.class, new Store());
+        assertEquals(repository, repository);
+        assertNotEquals(repository, other);
+        assertEquals(System.identityHashCode(repository), repository.hashCode());
+    }
+
+    @Test
+    void createsFunctional() {
+        Finder finder = f.create(Finder.class, new Store());
+        assertFalse(Proxy.isProxyClass(finder.getClass()));
+        assertEquals("value 3", finder.find(3));
+        assertEquals("value 3", f.create(Finder.class, new Incomplete()).find(3));
+    }
+
+    @Test
+    void doesNotCreateIncomplete() {
+        Incomplete incomplete = new Incomplete();
+        assertThrows(ReflectionException.class, () -> f.create(Repository.class, incomplete));
+    }
+
+    @Test
+    void doesNotCreateFromClass() {
+        Store store = new Store();
+        assertThrows(ReflectionException.class, () -> f.create(Store.class, store));
+    }
+}
@@ -21,6 +21,9 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.objenesis.instantiator.ObjectInstantiator;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -152,6 +155,29 @@ class ReflectorTest {
         assertThrows(AssertionError.class, () -> r.unreflectSetter(field));
     }
 
+    @Test
+    void reusesHandles() {
+        Field field = getDeclaredFieldAndSetAccessible("privateValue");
+        MethodHandle getter = r.unreflectGetter(field);
+        MethodHandle setter = r.unreflectSetter(field);
+        assertNotSame(getter, setter);
+        assertSame(getter, r.unreflectGetter(getDeclaredFieldAndSetAccessible("privateValue")));
+        assertSame(setter, r.unreflectSetter(field));
+        Method method = getDeclaredMethod("legal");
+        assertSame(r.unreflect(method), r.unreflect(method));
+        r.setLookup(MethodHandles.lookup());
+        assertNotSame(getter, r.unreflectGetter(field));
+    }
+
+    @Test
+    void reusesHandlesAcrossAccessibility() {
+        Field field = getDeclaredField("privateValue");
+        assertThrows(AssertionError.class, () -> r.unreflectGetter(field));
+        MethodHandle getter = r.unreflectGetter(getDeclaredFieldAndSetAccessible("privateValue"));
+        field.setAccessible(true);
+        assertSame(getter, r.unreflectGetter(field));
+    }
+
     @Test
     void doesNotInvokeNullGetter() {
         Field field = getDeclaredField("publicValue");
@@ -166,6 +192,32 @@ class ReflectorTest {
         assertThrows(AssertionError.class, () -> r.invokeSetter(setter, null, false));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "publicValue",
+            "protectedValue",
+            "packageValue",
+            "privateValue"})
+    void unreflectsVarHandle(String fieldName) {
+        Field field = getDeclaredField(fieldName);
+        VarHandle handle = r.unreflectVarHandle(field);
+        Fields instance = new Fields();
+        assertTrue(handle.compareAndSet(instance, true, false));
+        assertFalse((boolean) handle.getVolatile(instance));
+    }
+
+    @Test
+    void unreflectsVarHandleOfPackageClass() throws ReflectiveOperationException {
+        Class<?> type = Class.forName("br.pro.hashi.sdx.reflection.example.reflector.invoke.PackageFields");
+        Field field = type.getField("publicValue");
+        VarHandle handle = r.unreflectVarHandle(field);
+        Constructor<?> constructor = type.getConstructor();
+        constructor.setAccessible(true);
+        Object instance = constructor.newInstance();
+        assertTrue(handle.compareAndSet(instance, true, false));
+        assertFalse((boolean) handle.getVolatile(instance));
+    }
+
     private Field getDeclaredField(String fieldName) {
         return assertDoesNotThrow(() -> Fields.class.getDeclaredField(fieldName));
     }
@@ -190,6 +242,76 @@ class ReflectorTest {
         return assertDoesNotThrow(() -> Methods.class.getDeclaredMethod(methodName));
     }
 
+    @Test
+    void invokesWithArgumentsAsSingleArgument() {
+        Arguments instance = new Arguments();
+        MethodHandle handle = unreflectArguments("count", Object[].class);
+        int value = r.invokeWithArguments(handle, instance, "a", "b", "c");
+        assertEquals(3, value);
+    }
+
+    @Test
+    void invokesSpread() {
+        Arguments instance = new Arguments();
+        MethodHandle handle = unreflectArguments("four", String.class, int.class, long.class, char.class);
+        String value = r.invokeSpread(handle, instance, "a", 1, 2L, 'd');
+        assertEquals("a12d", value);
+        assertSame(r.getSpreadInvoker(4), r.getSpreadInvoker(4));
+    }
+
+    @Test
+    void cachesGenericAdaptations() {
+        MethodHandle one = unreflectArguments("one", String.class);
+        MethodHandle two = unreflectArguments("two", String.class, int.class);
+        assertEquals(MethodType.genericMethodType(2), r.getGeneric(one, 1).type());
+        assertEquals(MethodType.genericMethodType(3), r.getGeneric(two, 2).type());
+        assertSame(r.getGeneric(one, 1), r.getGeneric(one, 1));
+        assertSame(r.getGeneric(two, 2), r.getGeneric(two, 2));
+    }
+
+    @Test
+    void invokesSpreadWithVarargs() {
+        Arguments instance = new Arguments();
+        MethodHandle handle = unreflectArguments("length", String[].class);
+        int value = r.invokeSpread(handle, instance, "a", "b", "c");
+        assertEquals(3, value);
+    }
+
+    @Test
+    void doesNotInvokeSpreadWithWrongArguments() {
+        Arguments instance = new Arguments();
+        MethodHandle handle = unreflectArguments("two", String.class, int.class);
+        assertThrows(AssertionError.class, () -> r.invokeSpread(handle, instance, "a"));
+        assertThrows(AssertionError.class, () -> r.invokeSpread(handle, instance, "a", "b"));
+    }
+
+    @Test
+    void calls() {
+        Arguments instance = new Arguments();
+        String none = r.call(unreflectArguments("none"), instance);
+        String one = r.call(unreflectArguments("one", String.class), instance, "a");
+        String two = r.call(unreflectArguments("two", String.class, int.class), instance, "a", 1);
+        String three = r.call(unreflectArguments("three", String.class, int.class, long.class), instance, "a", 1, 2L);
+        String four = r.call(unreflectArguments("four", String.class, int.class, long.class, char.class), instance, "a", 1, 2L, 'd');
+        assertEquals("", none);
+        assertEquals("a", one);
+        assertEquals("a1", two);
+        assertEquals("a12", three);
+        assertEquals("a12d", four);
+    }
+
+    @Test
+    void doesNotCallFailure() {
+        Arguments instance = new Arguments();
+        MethodHandle handle = unreflectArguments("fail");
+        assertThrows(AssertionError.class, () -> r.call(handle, instance));
+    }
+
+    private MethodHandle unreflectArguments(String methodName, Class<?>... parameterTypes) {
+        Method method = assertDoesNotThrow(() -> Arguments.class.getDeclaredMethod(methodName, parameterTypes));
+        return r.unreflect(method);
+    }
+
     @Test
     void getsBothSpecificTypesFromFinalChildWithBoth() {
         FinalChildWithBoth object = new FinalChildWithBoth();
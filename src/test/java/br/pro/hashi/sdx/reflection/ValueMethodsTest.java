@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.model.Child;
+import br.pro.hashi.sdx.reflection.example.model.Parent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueMethodsTest {
+    private ClassModel<Child> model;
+    private ValueMethods<Child> m;
+
+    @BeforeEach
+    void setUp() {
+        model = new ModelFactory(new Reflector()).get(Child.class);
+        m = model.getValueMethods();
+    }
+
+    @Test
+    void getsSame() {
+        assertSame(m, model.getValueMethods());
+    }
+
+    @Test
+    void equals() {
+        Child instance = mockInstance(1, 2.5);
+        assertTrue(m.equals(instance, instance));
+        assertTrue(m.equals(instance, mockInstance(1, 2.5)));
+        assertTrue(m.equals(null, null));
+        assertFalse(m.equals(instance, mockInstance(2, 2.5)));
+        assertFalse(m.equals(instance, mockInstance(1, 3.5)));
+        assertFalse(m.equals(instance, new Parent()));
+        assertFalse(m.equals(instance, null));
+        assertFalse(m.equals(null, instance));
+    }
+
+    @Test
+    void hashes() {
+        assertEquals(m.hashCode(mockInstance(1, 2.5)), m.hashCode(mockInstance(1, 2.5)));
+        assertNotEquals(m.hashCode(mockInstance(1, 2.5)), m.hashCode(mockInstance(2, 2.5)));
+        assertEquals(0, m.hashCode(null));
+    }
+
+    @Test
+    void describes() {
+        assertEquals("Child[id=1, name=null, code=1, name=null, amount=2.5]", m.toString(mockInstance(1, 2.5)));
+        assertEquals("null", m.toString(null));
+    }
+
+    @Test
+    void wrapsKeys() {
+        Set<Object> keys = new HashSet<>();
+        assertTrue(keys.add(m.asKey(mockInstance(1, 2.5))));
+        assertFalse(keys.add(m.asKey(mockInstance(1, 2.5))));
+        assertTrue(keys.add(m.asKey(mockInstance(2, 2.5))));
+        assertNotEquals(m.asKey(new Child()), new Child());
+        assertEquals(m.toString(new Child()), m.asKey(new Child()).toString());
+    }
+
+    private Child mockInstance(int id, double amount) {
+        Child instance = new Child();
+        instance.setId(id);
+        instance.amount = amount;
+        return instance;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection;
+
+import br.pro.hashi.sdx.reflection.example.model.Counter;
+import br.pro.hashi.sdx.reflection.exception.ReflectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VarAccessorTest {
+    private ClassModel<Counter> model;
+    private VarAccessor<Counter> a;
+
+    @BeforeEach
+    void setUp() {
+        model = new ModelFactory(new Reflector()).get(Counter.class);
+        a = model.getVarAccessor();
+    }
+
+    @Test
+    void getsSame() {
+        assertSame(a, model.getVarAccessor());
+        assertSame(a.getVarHandle(0), a.getVarHandle(0));
+    }
+
+    @Test
+    void getsAndSetsWithOrdering() {
+        Counter instance = new Counter();
+        a.setVolatile(instance, 0, 1);
+        assertEquals(1, a.getVolatile(instance, 0));
+        a.setRelease(instance, 1, 2L);
+        assertEquals(2L, a.getAcquire(instance, 1));
+        a.setOpaque(instance, 2, "label");
+        assertEquals("label", a.getOpaque(instance, 2));
+        assertEquals("counter", a.getVolatile(instance, 3));
+    }
+
+    @Test
+    void comparesAndSets() {
+        Counter instance = new Counter();
+        assertTrue(a.compareAndSet(instance, 2, null, "label"));
+        assertFalse(a.compareAndSet(instance, 2, null, "other"));
+        assertEquals("label", a.getAndSet(instance, 2, "other"));
+        assertEquals("other", instance.getLabel());
+        assertTrue(a.compareAndSetInt(instance, 0, 0, 3));
+        assertFalse(a.compareAndSetInt(instance, 0, 0, 4));
+        assertTrue(a.compareAndSetLong(instance, 1, 0, 5));
+        assertEquals(3, instance.getHits());
+        assertEquals(5L, instance.getTotal());
+    }
+
+    @Test
+    void getsAndAdds() {
+        Counter instance = new Counter();
+        IntStream.range(0, 1000).parallel().forEach((index) -> {
+            a.getAndAddInt(instance, 0, 1);
+            a.getAndAddLong(instance, 1, 2);
+        });
+        assertEquals(1000, instance.getHits());
+        assertEquals(2000L, instance.getTotal());
+    }
+
+    @Test
+    void doesNotAddToWrongType() {
+        Counter instance = new Counter();
+        assertThrows(ReflectionException.class, () -> a.getAndAddInt(instance, 1, 1));
+        assertThrows(ReflectionException.class, () -> a.getAndAddLong(instance, 2, 1));
+    }
+
+    @Test
+    void doesNotSetFinal() {
+        Counter instance = new Counter();
+        assertThrows(UnsupportedOperationException.class, () -> a.setVolatile(instance, 3, "other"));
+    }
+}
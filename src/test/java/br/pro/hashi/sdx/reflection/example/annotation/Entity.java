@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.annotation;
+
+@Table(name = "entities", indexes = {"id", "name"})
+public class Entity {
+    @Column(value = "entity_id", nullable = false)
+    private int id;
+
+    @Column(value = "entity_name", range = @Range(min = 1, max = 100))
+    private String name;
+
+    private double score;
+
+    @Hook
+    private void beforeSave() {
+    }
+
+    public void afterSave() {
+    }
+}
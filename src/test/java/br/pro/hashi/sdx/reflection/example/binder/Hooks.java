@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.binder;
+
+public class Hooks {
+    public static int twice(int value) {
+        return 2 * value;
+    }
+
+    private final String prefix;
+
+    public Hooks(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String greet(String name) {
+        return prefix + name;
+    }
+
+    private String secret(String name) {
+        return "secret " + name;
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.copier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Node {
+    public String name;
+    public int[] values;
+    public Node next;
+    public Node[] children;
+    public List<Node> list;
+    public Map<String, Node> map;
+    public Object shared;
+
+    public Node() {
+        this.list = new ArrayList<>();
+        this.map = new HashMap<>();
+    }
+}
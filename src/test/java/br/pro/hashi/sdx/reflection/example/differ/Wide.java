@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.differ;
+
+public class Wide {
+    public int value0;
+    public int value1;
+    public int value2;
+    public int value3;
+    public int value4;
+    public int value5;
+    public int value6;
+    public int value7;
+    public int value8;
+    public int value9;
+    public int value10;
+    public int value11;
+    public int value12;
+    public int value13;
+    public int value14;
+    public int value15;
+    public int value16;
+    public int value17;
+    public int value18;
+    public int value19;
+    public int value20;
+    public int value21;
+    public int value22;
+    public int value23;
+    public int value24;
+    public int value25;
+    public int value26;
+    public int value27;
+    public int value28;
+    public int value29;
+    public int value30;
+    public int value31;
+    public int value32;
+    public int value33;
+    public int value34;
+    public int value35;
+    public int value36;
+    public int value37;
+    public int value38;
+    public int value39;
+    public int value40;
+    public int value41;
+    public int value42;
+    public int value43;
+    public int value44;
+    public int value45;
+    public int value46;
+    public int value47;
+    public int value48;
+    public int value49;
+    public int value50;
+    public int value51;
+    public int value52;
+    public int value53;
+    public int value54;
+    public int value55;
+    public int value56;
+    public int value57;
+    public int value58;
+    public int value59;
+    public int value60;
+    public int value61;
+    public int value62;
+    public int value63;
+    public int value64;
+    public int value65;
+    public int value66;
+    public int value67;
+    public int value68;
+    public int value69;
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.index;
+
+public class Base implements Greeter {
+    public String inherited() {
+        return "inherited";
+    }
+
+    public String describe(String value) {
+        return "base";
+    }
+}
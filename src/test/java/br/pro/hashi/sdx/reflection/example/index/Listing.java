@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.index;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.List;
+
+public class Listing extends AbstractCollection<String> {
+    @Override
+    public Iterator<String> iterator() {
+        return List.of("item").iterator();
+    }
+
+    @Override
+    public int size() {
+        return 1;
+    }
+}
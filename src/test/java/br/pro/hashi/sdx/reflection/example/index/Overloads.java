@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.index;
+
+public class Overloads extends Base {
+    public static int twice(int value) {
+        return 2 * value;
+    }
+
+    public int sum(int a, int b) {
+        return a + b;
+    }
+
+    public long sum(long a, long b) {
+        return a + b;
+    }
+
+    public String describe(Object value) {
+        return "object";
+    }
+
+    public String describe(CharSequence value) {
+        return "sequence";
+    }
+
+    @Override
+    public String describe(String value) {
+        return "string";
+    }
+
+    public String box(int value) {
+        return "primitive";
+    }
+
+    public String box(Integer value) {
+        return "wrapper";
+    }
+
+    public long widen(long value) {
+        return value;
+    }
+
+    public String pair(Integer a, Object b) {
+        return "left";
+    }
+
+    public String pair(Object a, Integer b) {
+        return "right";
+    }
+
+    private String secret() {
+        return "secret";
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.lazy;
+
+import br.pro.hashi.sdx.reflection.LazyLoader;
+import br.pro.hashi.sdx.reflection.Reflection;
+
+import java.util.List;
+
+public class Account {
+    private static final LazyLoader<Account> LOADER = Reflection.getModelFactory().get(Account.class).createLazyLoader();
+    private static final int ORDERS = LOADER.register("orders", (account) -> List.of("order" + account.id));
+
+    private final String name = "account";
+    private int id;
+    private List<String> orders;
+    private String owner;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public List<String> getOrders() {
+        return LOADER.get(this, ORDERS);
+    }
+}
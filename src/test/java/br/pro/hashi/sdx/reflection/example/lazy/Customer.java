@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.lazy;
+
+import java.util.List;
+
+public class Customer {
+    private int id;
+    private List<String> orders;
+    private String owner;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public List<String> getOrders() {
+        return orders;
+    }
+
+    String getOwner() {
+        return owner;
+    }
+}
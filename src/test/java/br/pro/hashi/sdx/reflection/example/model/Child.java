@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.model;
+
+public class Child extends Parent {
+    private final long code;
+    private String name;
+    public double amount;
+
+    public Child() {
+        this.code = 1;
+    }
+
+    public long getCode() {
+        return code;
+    }
+
+    public String getChildName() {
+        return name;
+    }
+
+    public String getParentName() {
+        return super.name;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.model;
+
+public class Counter {
+    private volatile int hits;
+    private volatile long total;
+    private volatile String label;
+    private final String name;
+
+    public Counter() {
+        this.name = "counter";
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
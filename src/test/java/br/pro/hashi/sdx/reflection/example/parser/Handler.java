@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.parser;
+
+import java.math.BigDecimal;
+
+public class Handler {
+    public static int twice(int value) {
+        return 2 * value;
+    }
+
+    public String handle(int a, long b, String c, BigDecimal d, char e, boolean f) {
+        return "%d %d %s %s %c %b".formatted(a, b, c, d, e, f);
+    }
+
+    public boolean custom(DefaultMethod value) {
+        return value != null;
+    }
+
+    public void missing(MissingMethod value) {
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.path;
+
+public class Rank implements Comparable<Rank> {
+    public int value;
+
+    public Rank(int value) {
+        this.value = value;
+    }
+
+    public static Rank valueOf(String valueString) {
+        return new Rank(Integer.parseInt(valueString));
+    }
+
+    @Override
+    public int compareTo(Rank other) {
+        if (value < other.value) {
+            return Integer.MIN_VALUE;
+        }
+        if (value > other.value) {
+            return Integer.MAX_VALUE;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.proxy;
+
+public interface Repository {
+    String find(long id);
+
+    int count();
+
+    void save(String value);
+
+    default String findFirst() {
+        return find(1);
+    }
+
+    @Override
+    String toString();
+}
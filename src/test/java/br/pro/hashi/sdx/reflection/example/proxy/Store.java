@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.proxy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Store {
+    private final List<String> values = new ArrayList<>();
+
+    public String find(Long id) {
+        return "value " + id;
+    }
+
+    public Integer count() {
+        return values.size();
+    }
+
+    public void save(String value) {
+        values.add(value);
+    }
+
+    public double scale(double factor, long offset) {
+        return factor * values.size() + offset;
+    }
+
+    @Override
+    public String toString() {
+        return "store";
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024 Marcelo Hashimoto
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+package br.pro.hashi.sdx.reflection.example.reflector.invoke;
+
+public class Arguments {
+    public String none() {
+        return "";
+    }
+
+    public String one(String a) {
+        return a;
+    }
+
+    public String two(String a, int b) {
+        return a + b;
+    }
+
+    public String three(String a, int b, long c) {
+        return a + b + c;
+    }
+
+    public String four(String a, int b, long c, char d) {
+        return a + b + c + d;
+    }
+
+    public int length(String... values) {
+        return values.length;
+    }
+
+    public int count(Object[] values) {
+        return values.length;
+    }
+
+    public void fail() {
+        throw new IllegalStateException();
+    }
+}